@@ -5,24 +5,47 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * Utility to load API YAML specifications from resources/api-specs.
+ * Parsed specs are frozen and memoized by file name, so each YAML file is parsed once per JVM.
  */
 public final class ApiSpecLoader {
 
     private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
     private static final String SPEC_BASE_PATH = "api-specs/";
+    private static final Logger logger = Logger.getLogger(ApiSpecLoader.class.getName());
+
+    private static final ConcurrentMap<String, ApiYamlSpec> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
 
     private ApiSpecLoader() {
         // utility class
     }
 
     /**
-     * Loads and parses a YAML spec file into {@link ApiYamlSpec}.
+     * Returns the parsed spec for a YAML file, parsing it on first use only.
      *
      * @param yamlFileName file name of the YAML spec (relative to api-specs folder)
-     * @return parsed {@link ApiYamlSpec}
+     * @return frozen, shareable {@link ApiYamlSpec}
      * @throws IllegalArgumentException if yamlFileName is null/blank or file not found
      * @throws IllegalStateException    if reading or parsing fails
      */
@@ -31,11 +54,105 @@ public final class ApiSpecLoader {
             throw new IllegalArgumentException("YAML file name cannot be null or blank");
         }
 
+        ApiYamlSpec cached = CACHE.get(yamlFileName);
+        if (cached != null) {
+            HITS.incrementAndGet();
+            return cached;
+        }
+
+        // Only the thread that actually parses counts a miss; threads that raced it got the cached spec
+        boolean[] parsed = new boolean[1];
+        ApiYamlSpec spec = CACHE.computeIfAbsent(yamlFileName, key -> {
+            parsed[0] = true;
+            MISSES.incrementAndGet();
+            return parse(key).freeze();
+        });
+        if (!parsed[0]) {
+            HITS.incrementAndGet();
+        }
+        return spec;
+    }
+
+    /**
+     * Scans the api-specs folder on the classpath and parses every YAML file into the cache.
+     * Files that fail to parse are logged and skipped so that the failure surfaces in the
+     * scenario that actually uses them.
+     *
+     * @return number of specs in the cache after preloading
+     */
+    public static int preload() {
+        try {
+            Enumeration<URL> roots = classLoader().getResources(SPEC_BASE_PATH);
+            for (URL root : Collections.list(roots)) {
+                preloadFrom(root);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not scan classpath for " + SPEC_BASE_PATH);
+        }
+        logger.info(() -> "✅ Preloaded " + CACHE.size() + " API specs");
+        return CACHE.size();
+    }
+
+    public static long hits() {
+        return HITS.get();
+    }
+
+    public static long misses() {
+        return MISSES.get();
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Drops all cached specs and resets the hit/miss counters.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+        HITS.set(0);
+        MISSES.set(0);
+    }
+
+    private static void preloadFrom(URL root) throws IOException {
+        URI uri;
+        try {
+            uri = root.toURI();
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid api-specs location: " + root, e);
+        }
+
+        if ("jar".equals(uri.getScheme())) {
+            try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                preloadDirectory(fs.getPath(SPEC_BASE_PATH));
+            } catch (FileSystemAlreadyExistsException e) {
+                preloadDirectory(FileSystems.getFileSystem(uri).getPath(SPEC_BASE_PATH));
+            }
+        } else {
+            preloadDirectory(Paths.get(uri));
+        }
+    }
+
+    private static void preloadDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".yaml") || name.endsWith(".yml"))
+                    .forEach(ApiSpecLoader::preloadQuietly);
+        }
+    }
+
+    private static void preloadQuietly(String yamlFileName) {
+        try {
+            CACHE.computeIfAbsent(yamlFileName, key -> parse(key).freeze());
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Skipping unparsable API spec: " + yamlFileName);
+        }
+    }
+
+    private static ApiYamlSpec parse(final String yamlFileName) {
         final String resourcePath = SPEC_BASE_PATH + yamlFileName;
 
-        try (InputStream is = Thread.currentThread()
-                .getContextClassLoader()
-                .getResourceAsStream(resourcePath)) {
+        try (InputStream is = classLoader().getResourceAsStream(resourcePath)) {
 
             if (is == null) {
                 throw new IllegalArgumentException("YAML spec file not found on classpath: " + resourcePath);
@@ -48,4 +165,8 @@ public final class ApiSpecLoader {
             throw new IllegalStateException("Failed to load YAML spec: " + resourcePath, e);
         }
     }
+
+    private static ClassLoader classLoader() {
+        return Thread.currentThread().getContextClassLoader();
+    }
 }
@@ -2,6 +2,8 @@ package api;
 
 import lombok.Data;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Data
@@ -13,4 +15,83 @@ public class ApiYamlSpec {
     private Map<String, String> query;
     private Map<String, String> pathParams;
     private String payload;
+
+    /**
+     * Returns a frozen, defensively-copied view of this spec that can be shared
+     * between scenario threads. Maps are copied and made unmodifiable and all
+     * setters throw {@link UnsupportedOperationException}.
+     *
+     * @return frozen copy (or this instance if already frozen)
+     */
+    public ApiYamlSpec freeze() {
+        return isFrozen() ? this : new Frozen(this);
+    }
+
+    public boolean isFrozen() {
+        return false;
+    }
+
+    private static Map<String, String> copyOf(Map<String, String> source) {
+        return source == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(source));
+    }
+
+    /**
+     * Immutable snapshot of an {@link ApiYamlSpec}; values are copied once via the super setters.
+     */
+    private static final class Frozen extends ApiYamlSpec {
+
+        private Frozen(ApiYamlSpec source) {
+            super.setName(source.getName());
+            super.setMethod(source.getMethod());
+            super.setUri(source.getUri());
+            super.setHeaders(copyOf(source.getHeaders()));
+            super.setQuery(copyOf(source.getQuery()));
+            super.setPathParams(copyOf(source.getPathParams()));
+            super.setPayload(source.getPayload());
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return true;
+        }
+
+        @Override
+        public void setName(String name) {
+            throw frozen();
+        }
+
+        @Override
+        public void setMethod(String method) {
+            throw frozen();
+        }
+
+        @Override
+        public void setUri(String uri) {
+            throw frozen();
+        }
+
+        @Override
+        public void setHeaders(Map<String, String> headers) {
+            throw frozen();
+        }
+
+        @Override
+        public void setQuery(Map<String, String> query) {
+            throw frozen();
+        }
+
+        @Override
+        public void setPathParams(Map<String, String> pathParams) {
+            throw frozen();
+        }
+
+        @Override
+        public void setPayload(String payload) {
+            throw frozen();
+        }
+
+        private static UnsupportedOperationException frozen() {
+            return new UnsupportedOperationException("ApiYamlSpec is frozen and cannot be modified");
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package api;
+
+import utils.Config;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of in-flight requests per target host.
+ * Needed when scenarios run on virtual threads, where the scheduler no longer bounds concurrency.
+ * The limit comes from {@code http.maxConcurrentPerHost}; zero or a missing value disables limiting.
+ */
+public final class HostLimiter {
+
+    private static final int MAX_PER_HOST = Config.getInt("http.maxConcurrentPerHost", 0);
+    private static final ConcurrentMap<String, Semaphore> PERMITS = new ConcurrentHashMap<>();
+
+    private HostLimiter() {
+        // utility class
+    }
+
+    /**
+     * Runs a request while holding a permit for the host of {@code baseUri}.
+     *
+     * @param baseUri base URI the request is sent to
+     * @param request request to execute
+     * @return the request result
+     * @throws IllegalStateException if the thread is interrupted while waiting for a permit
+     */
+    public static <T> T call(String baseUri, Supplier<T> request) {
+        if (MAX_PER_HOST <= 0 || baseUri == null) {
+            return request.get();
+        }
+
+        Semaphore permits = PERMITS.computeIfAbsent(hostOf(baseUri), host -> new Semaphore(MAX_PER_HOST, true));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a connection slot to " + baseUri, e);
+        }
+        try {
+            return request.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static String hostOf(String baseUri) {
+        URI uri = URI.create(baseUri);
+        return uri.getHost() != null ? uri.getHost() + ":" + uri.getPort() : baseUri;
+    }
+}
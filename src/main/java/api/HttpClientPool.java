@@ -0,0 +1,149 @@
+package api;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.protocol.HttpContext;
+import utils.Config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Connection pool shared by every RestAssured request of the suite.
+ * RestAssured creates a lightweight HttpClient per request through {@link #config()}, but all of them
+ * lease connections from one pooling connection manager, so keep-alive connections (and their TLS
+ * sessions) are reused across scenarios and threads. Idle and expired connections are evicted by a
+ * background daemon thread.
+ *
+ * <p>Pool settings (all optional):
+ * {@code http.pool.maxTotal}, {@code http.pool.maxPerRoute}, {@code http.keepAliveSeconds},
+ * {@code http.idleEvictSeconds}.</p>
+ */
+@SuppressWarnings("deprecation") // RestAssured still requires the HttpClient 4 AbstractHttpClient API
+public final class HttpClientPool {
+
+    private static final Logger logger = Logger.getLogger(HttpClientPool.class.getName());
+
+    private static final int MAX_TOTAL = Config.getInt("http.pool.maxTotal", 100);
+    private static final int MAX_PER_ROUTE = Config.getInt("http.pool.maxPerRoute", 20);
+    private static final long KEEP_ALIVE_MS = TimeUnit.SECONDS.toMillis(Config.getInt("http.keepAliveSeconds", 30));
+    private static final int IDLE_EVICT_SECONDS = Config.getInt("http.idleEvictSeconds", 60);
+
+    private static final PoolingClientConnectionManager POOL = createPool();
+    private static final ClientConnectionManager SHARED = new NonClosingConnectionManager(POOL);
+    private static final ConnectionKeepAliveStrategy KEEP_ALIVE = HttpClientPool::keepAliveDuration;
+    private static final ScheduledExecutorService EVICTOR = startEvictor();
+
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(HttpClientPool::newClient));
+
+    private HttpClientPool() {
+        // utility class
+    }
+
+    /**
+     * @return RestAssured configuration whose HTTP clients share the pooled connections
+     */
+    public static RestAssuredConfig config() {
+        return CONFIG;
+    }
+
+    /**
+     * Closes all pooled connections and stops the eviction thread.
+     */
+    public static void shutdown() {
+        EVICTOR.shutdownNow();
+        POOL.shutdown();
+    }
+
+    private static PoolingClientConnectionManager createPool() {
+        PoolingClientConnectionManager pool = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault(), KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+        pool.setMaxTotal(MAX_TOTAL);
+        pool.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+        logger.info(() -> String.format("✅ HTTP connection pool ready (maxTotal=%d, maxPerRoute=%d, keepAlive=%dms)",
+                MAX_TOTAL, MAX_PER_ROUTE, KEEP_ALIVE_MS));
+        return pool;
+    }
+
+    private static ScheduledExecutorService startEvictor() {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "http-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            POOL.closeExpiredConnections();
+            POOL.closeIdleConnections(IDLE_EVICT_SECONDS, TimeUnit.SECONDS);
+        }, IDLE_EVICT_SECONDS, IDLE_EVICT_SECONDS, TimeUnit.SECONDS);
+        return evictor;
+    }
+
+    private static DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(SHARED);
+        client.setKeepAliveStrategy(KEEP_ALIVE);
+        return client;
+    }
+
+    // Honour the server's Keep-Alive header, capped at the configured keep-alive
+    private static long keepAliveDuration(HttpResponse response, HttpContext context) {
+        long server = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return server > 0 ? Math.min(server, KEEP_ALIVE_MS) : KEEP_ALIVE_MS;
+    }
+
+    /**
+     * RestAssured shuts down the client's connection manager after every request unless the client
+     * instance itself is reused; this delegate ignores that so the shared pool survives.
+     */
+    private static final class NonClosingConnectionManager implements ClientConnectionManager {
+
+        private final ClientConnectionManager delegate;
+
+        private NonClosingConnectionManager(ClientConnectionManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return delegate.getSchemeRegistry();
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            return delegate.requestConnection(route, state);
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection conn, long validDuration, TimeUnit timeUnit) {
+            delegate.releaseConnection(conn, validDuration, timeUnit);
+        }
+
+        @Override
+        public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+            delegate.closeIdleConnections(idletime, timeUnit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            delegate.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+            // shared pool: closed only through HttpClientPool.shutdown()
+        }
+    }
+}
@@ -9,15 +9,22 @@ import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import exceptions.PayloadBuildException;
+import utils.Config;
+import utils.ValueTypes;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility to build request payloads by loading default payload JSON from classpath
  * and applying JSONPath overrides.
+ * Payload files are parsed once into template trees and every call works on a deep copy;
+ * override paths are compiled once and cached by path string.
  */
 public final class PayloadOverwriter {
 
@@ -32,6 +39,12 @@ public final class PayloadOverwriter {
             )
             .build();
 
+    private static final String STREAM_THRESHOLD_KEY = "api.payload.streamThresholdBytes";
+    private static final int DEFAULT_STREAM_THRESHOLD = 256 * 1024;
+
+    private static final ConcurrentMap<String, JsonNode> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, JsonPath> COMPILED_PATHS = new ConcurrentHashMap<>();
+
     private PayloadOverwriter() {
         // utility class
     }
@@ -46,27 +59,77 @@ public final class PayloadOverwriter {
      * @throws PayloadBuildException if payload cannot be built
      */
     public static String buildPayload(final String defaultFile, final Map<String, String> overrides) {
-        final String path = "payloads/" + Objects.requireNonNull(defaultFile, "defaultFile must not be null");
+        final String path = payloadPath(defaultFile);
 
-        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path)) {
-            if (is == null) {
-                throw new PayloadBuildException("Payload file not found on classpath: " + path);
-            }
+        try {
+            return MAPPER.writeValueAsString(mutatedCopy(path, overrides));
+        } catch (IOException ex) {
+            // only rethrow; don't log here
+            throw new PayloadBuildException("Failed to overwrite payload from: " + path, ex);
+        }
+    }
 
-            JsonNode base = MAPPER.readTree(is);
-            DocumentContext ctx = JsonPath.using(CONF).parse(base);
+    /**
+     * Build request payload like {@link #buildPayload(String, Map)}, but serialize the tree straight
+     * into the calling thread's pooled byte buffer. Bodies of at least
+     * {@code api.payload.streamThresholdBytes} bytes are sent by RestAssured from that buffer;
+     * smaller ones are returned as text.
+     *
+     * @param defaultFile classpath-relative under resources/payloads/
+     * @param overrides   map of JSONPath -> value
+     * @return serialized request payload
+     * @throws PayloadBuildException if payload cannot be built
+     */
+    public static RequestPayload buildRequestPayload(final String defaultFile, final Map<String, String> overrides) {
+        final String path = payloadPath(defaultFile);
+
+        try {
+            JsonNode mutated = mutatedCopy(path, overrides);
+            RequestPayload.PooledBuffer buffer = RequestPayload.pooledBuffer();
+            MAPPER.writeValue(buffer, mutated);
+            return RequestPayload.of(buffer, Config.getInt(STREAM_THRESHOLD_KEY, DEFAULT_STREAM_THRESHOLD));
+        } catch (IOException ex) {
+            throw new PayloadBuildException("Failed to overwrite payload from: " + path, ex);
+        }
+    }
+
+    private static String payloadPath(final String defaultFile) {
+        return "payloads/" + Objects.requireNonNull(defaultFile, "defaultFile must not be null");
+    }
 
-            applyOverrides(ctx, overrides);
+    private static JsonNode mutatedCopy(final String path, final Map<String, String> overrides) {
+        DocumentContext ctx = JsonPath.using(CONF).parse(template(path).deepCopy());
+        applyOverrides(ctx, overrides);
+        return ctx.json();
+    }
 
-            JsonNode mutated = ctx.json();
-            return MAPPER.writeValueAsString(mutated);
+    /**
+     * Returns the cached template tree for a payload resource, parsing it on first use.
+     * The returned node is shared and must never be mutated; callers work on a deep copy.
+     */
+    private static JsonNode template(final String path) {
+        try {
+            return TEMPLATES.computeIfAbsent(path, PayloadOverwriter::readTemplate);
+        } catch (UncheckedIOException ex) {
+            throw new PayloadBuildException("Failed to read payload from: " + path, ex.getCause());
+        }
+    }
 
+    private static JsonNode readTemplate(final String path) {
+        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path)) {
+            if (is == null) {
+                throw new PayloadBuildException("Payload file not found on classpath: " + path);
+            }
+            return MAPPER.readTree(is);
         } catch (IOException ex) {
-            // only rethrow; don't log here
-            throw new PayloadBuildException("Failed to overwrite payload from: " + path, ex);
+            throw new UncheckedIOException(ex);
         }
     }
 
+    private static JsonPath compiledPath(final String expression) {
+        return COMPILED_PATHS.computeIfAbsent(expression, key -> JsonPath.compile(key));
+    }
+
     /**
      * Apply overrides to the JSON document context.
      */
@@ -76,50 +139,15 @@ public final class PayloadOverwriter {
         }
         overrides.forEach((key, value) -> {
             if (key != null && key.startsWith("$.")) {
-                ctx.set(key, coerceType(value));
+                ctx.set(compiledPath(key), coerceType(value));
             }
         });
     }
 
     /**
-     * Best-effort type coercion for DataTable string values:
-     * - "true"/"false" -> boolean
-     * - "null" -> null
-     * - integer / decimal numbers -> numeric
-     * - JSON object/array strings -> JsonNode
-     * - otherwise -> String
+     * Best-effort type coercion for DataTable string values; see {@link ValueTypes#coerce(String)}.
      */
     private static Object coerceType(String raw) {
-        if (raw == null) {
-            return null;
-        }
-        String t = raw.trim();
-
-        // booleans
-        if ("true".equalsIgnoreCase(t)) return Boolean.TRUE;
-        if ("false".equalsIgnoreCase(t)) return Boolean.FALSE;
-
-        // null literal
-        if ("null".equalsIgnoreCase(t)) return null;
-
-        // number
-        if (t.matches("[-+]?\\d+")) {
-            long l = Long.parseLong(t);
-            return (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) ? (int) l : l;
-        }
-        if (t.matches("[-+]?\\d*\\.\\d+([eE][-+]?\\d+)?")) {
-            return Double.parseDouble(t);
-        }
-
-        // JSON literal
-        if ((t.startsWith("{") && t.endsWith("}")) || (t.startsWith("[") && t.endsWith("]"))) {
-            try {
-                return MAPPER.readTree(t);
-            } catch (IOException ignored) {
-                // fallback to string
-            }
-        }
-
-        return raw;
+        return ValueTypes.coerce(raw);
     }
 }
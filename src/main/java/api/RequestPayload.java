@@ -0,0 +1,136 @@
+package api;
+
+import io.restassured.specification.RequestSpecification;
+import utils.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Serialized request body produced by {@link PayloadOverwriter}.
+ * Small bodies are kept as a String; bodies at or above the streaming threshold stay in the
+ * calling thread's pooled byte buffer and are handed to RestAssured as bytes, so they are never
+ * decoded into a String and are sent with a Content-Length rather than chunked.
+ * A streamed payload is only valid until the next payload is built on the same thread.
+ *
+ * <p>A thread borrows its buffer from a small shared pool ({@code api.payload.bufferPoolSize}) and hands it back
+ * through {@link #releaseBuffer()} when its scenario ends, so a runner that starts a fresh virtual thread per
+ * scenario reuses buffers instead of allocating one for every scenario.</p>
+ */
+public final class RequestPayload {
+
+    /** Buffers that grew beyond this size are released after use instead of being kept per thread. */
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024 * 1024;
+    private static final int INITIAL_BUFFER = 8 * 1024;
+
+    private static final BlockingQueue<PooledBuffer> POOL =
+            new ArrayBlockingQueue<>(Math.max(1, Config.getInt("api.payload.bufferPoolSize", 64)));
+    private static final ThreadLocal<PooledBuffer> BUFFERS = new ThreadLocal<>();
+
+    private final String text;
+    private final PooledBuffer buffer;
+    private final int length;
+
+    private RequestPayload(String text, PooledBuffer buffer, int length) {
+        this.text = text;
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * Returns the current thread's reusable buffer, emptied and ready for writing.
+     */
+    static PooledBuffer pooledBuffer() {
+        PooledBuffer buffer = BUFFERS.get();
+        if (buffer == null || buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffer = POOL.poll();
+            if (buffer == null) {
+                buffer = new PooledBuffer(INITIAL_BUFFER);
+            }
+            BUFFERS.set(buffer);
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Returns the calling thread's buffer to the shared pool; streamed payloads built on this thread are no
+     * longer valid afterwards. Called when a scenario ends.
+     */
+    public static void releaseBuffer() {
+        PooledBuffer buffer = BUFFERS.get();
+        if (buffer == null) {
+            return;
+        }
+        BUFFERS.remove();
+        if (buffer.capacity() <= MAX_RETAINED_BUFFER) {
+            POOL.offer(buffer);
+        }
+    }
+
+    /**
+     * Wraps the bytes written to a pooled buffer, streaming them when they reach the threshold.
+     */
+    static RequestPayload of(PooledBuffer buffer, int streamingThreshold) {
+        int size = buffer.size();
+        if (streamingThreshold > 0 && size >= streamingThreshold) {
+            return new RequestPayload(null, buffer, size);
+        }
+        return new RequestPayload(buffer.toString(StandardCharsets.UTF_8), null, size);
+    }
+
+    public boolean isStreamed() {
+        return buffer != null;
+    }
+
+    /**
+     * @return body size in bytes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Sets this payload as the request body.
+     *
+     * @param request RestAssured request to populate
+     * @return the same request
+     */
+    public RequestSpecification applyTo(RequestSpecification request) {
+        return isStreamed() ? request.body(buffer.bytes()) : request.body(text);
+    }
+
+    /**
+     * @return the body as text; streamed payloads are decoded on demand
+     */
+    public String asString() {
+        return isStreamed() ? buffer.toString(StandardCharsets.UTF_8) : text;
+    }
+
+    @Override
+    public String toString() {
+        return isStreamed() ? "<streamed " + length + " bytes>" : text;
+    }
+
+    /**
+     * ByteArrayOutputStream that hands out its backing array without copying it when the array is full.
+     */
+    static final class PooledBuffer extends ByteArrayOutputStream {
+
+        PooledBuffer(int size) {
+            super(size);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        // A byte[] body has a known length; a stream would be sent chunked
+        byte[] bytes() {
+            return count == buf.length ? buf : Arrays.copyOf(buf, count);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package api;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import utils.Config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-spec RestAssured request templates.
+ * The spec headers and pooled HTTP client configuration are assembled once per {@link ApiYamlSpec}; every
+ * call starts from a fresh copy of that template, so no global RestAssured state is written while scenarios
+ * run in parallel. The base URI is not part of the template but set on each request, so requests follow
+ * {@code baseUri} after a {@link Config#reload()}.
+ */
+public final class RequestTemplates {
+
+    private static final String BASE_URI_KEY = "baseUri";
+
+    private static final ConcurrentMap<ApiYamlSpec, RequestSpecification> TEMPLATES = new ConcurrentHashMap<>();
+
+    private RequestTemplates() {
+        // utility class
+    }
+
+    /**
+     * Starts a new request for the given spec. Callers that also key something on the host (e.g.
+     * {@code HostLimiter}) read {@link #baseUri()} once and pass it here, so both agree across a reload.
+     *
+     * @param spec    frozen API spec
+     * @param baseUri base URI the request is sent to
+     * @return a new, mutable request initialised from the spec's template
+     */
+    public static RequestSpecification given(ApiYamlSpec spec, String baseUri) {
+        return RestAssured.given(template(spec.freeze())).baseUri(baseUri);
+    }
+
+    /**
+     * @return base URI requests are currently sent to
+     */
+    public static String baseUri() {
+        return Config.get(BASE_URI_KEY);
+    }
+
+    private static RequestSpecification template(ApiYamlSpec spec) {
+        return TEMPLATES.computeIfAbsent(spec, RequestTemplates::build);
+    }
+
+    private static RequestSpecification build(ApiYamlSpec spec) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(HttpClientPool.config());
+        if (spec.getHeaders() != null) {
+            builder.addHeaders(spec.getHeaders());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,124 @@
+package api;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Response body parsed once for all assertions of a scenario step.
+ * RestAssured re-parses the body on every {@code response.jsonPath()} call; this wrapper parses it
+ * lazily into a single Jayway document and evaluates the RestAssured-style paths used in feature files
+ * ({@code name}, {@code data.year}, {@code [0].id}) against it through a shared cache of compiled paths.
+ *
+ * <p>Only plain paths (dotted property names and non-negative indexes) are evaluated with Jayway. GPath spreads a
+ * property over a list ({@code items.name}, or {@code name} on a root array) where JSONPath finds nothing, so a
+ * null result is re-evaluated with RestAssured only when the path applies a property to a list; otherwise the
+ * value is absent. Everything else ({@code items.size()}, {@code find {...}}, {@code $}-rooted expressions) goes
+ * to RestAssured directly, through one RestAssured {@code JsonPath} per document.</p>
+ */
+public final class ResponseDocument {
+
+    private static final Configuration CONF = Configuration.builder()
+            .jsonProvider(new JacksonJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(
+                    Option.DEFAULT_PATH_LEAF_TO_NULL,
+                    Option.SUPPRESS_EXCEPTIONS
+            )
+            .build();
+
+    /** Property names and {@code [n]} indexes separated by dots, e.g. {@code [0].data.tags[1]}. */
+    private static final Pattern PLAIN_PATH =
+            Pattern.compile("(\\[\\d+]|[A-Za-z_]\\w*)(\\.[A-Za-z_]\\w*|\\[\\d+])*");
+    private static final Pattern SEGMENT = Pattern.compile("\\[\\d+]|[A-Za-z_]\\w*");
+
+    /** Compiled paths by raw expression; {@link #GPATH_ONLY} marks expressions that are not plain paths. */
+    private static final ConcurrentMap<String, JsonPath> COMPILED_PATHS = new ConcurrentHashMap<>();
+    private static final JsonPath GPATH_ONLY = JsonPath.compile("$");
+
+    private final Response response;
+    private DocumentContext document;
+    private io.restassured.path.json.JsonPath gpath;
+
+    public ResponseDocument(Response response) {
+        this.response = response;
+    }
+
+    /**
+     * Reads a value from the response body.
+     *
+     * @param path RestAssured-style path or JSONPath expression
+     * @return value as plain Java object (String, Number, Boolean, List, Map) or null if absent
+     */
+    public Object read(String path) {
+        JsonPath compiled = compile(path);
+        if (compiled != GPATH_ONLY) {
+            Object value = document().read(compiled);
+            if (value != null || !spreadsOverList(path.trim())) {
+                return value;
+            }
+        }
+        return gpath().get(path);
+    }
+
+    // True if a property of the plain path is applied to a list, which only GPath resolves (to the list of the
+    // elements' values); a path that reaches a missing value first is definitely absent
+    private boolean spreadsOverList(String plainPath) {
+        Object parent = document().json();
+        Matcher segment = SEGMENT.matcher(plainPath);
+        while (segment.find()) {
+            if (parent == null) {
+                return false;
+            }
+            if (parent instanceof List && !segment.group().startsWith("[")) {
+                return true;
+            }
+            parent = document().read(compile(plainPath.substring(0, segment.end())));
+        }
+        return false;
+    }
+
+    private io.restassured.path.json.JsonPath gpath() {
+        if (gpath == null) {
+            gpath = response.jsonPath();
+        }
+        return gpath;
+    }
+
+    private DocumentContext document() {
+        if (document == null) {
+            try (InputStream in = new ByteArrayInputStream(response.asByteArray())) {
+                document = JsonPath.using(CONF).parse(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read response body", e);
+            }
+        }
+        return document;
+    }
+
+    private static JsonPath compile(String path) {
+        return COMPILED_PATHS.computeIfAbsent(path, key -> {
+            String p = key.trim();
+            return PLAIN_PATH.matcher(p).matches() ? JsonPath.compile(toJsonPath(p)) : GPATH_ONLY;
+        });
+    }
+
+    // "name" -> "$.name", "[0].id" -> "$[0].id"; only called for plain paths
+    static String toJsonPath(String plainPath) {
+        return plainPath.startsWith("[") ? "$" + plainPath : "$." + plainPath;
+    }
+}
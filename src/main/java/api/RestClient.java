@@ -1,9 +1,7 @@
 package api;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
-import utils.Config;
 
 import java.util.Map;
 
@@ -22,30 +20,29 @@ public final class RestClient {
                                 Map<String, String> queryParams,
                                 Map<String, String> payloadOverrides) {
 
-        RestAssured.baseURI = Config.get("baseURI");
+        String baseUri = RequestTemplates.baseUri();
+        RequestSpecification req = RequestTemplates.given(spec, baseUri);
 
-        RequestSpecification req = RestAssured.given();
-
-        if (spec.getHeaders() != null) {
-            req.headers(spec.getHeaders());
-        }
         if (queryParams != null) {
             req.queryParams(queryParams);
         }
         if (spec.getPayload() != null) {
-            String body = PayloadOverwriter.buildPayload(spec.getPayload(), payloadOverrides);
-            req.body(body);
+            PayloadOverwriter.buildRequestPayload(spec.getPayload(), payloadOverrides).applyTo(req);
         }
 
         String resolvedUri = resolveUri(spec.getUri(), pathParams);
 
-        return switch (spec.getMethod().toUpperCase()) {
+        return HostLimiter.call(baseUri, () -> send(req, spec.getMethod(), resolvedUri));
+    }
+
+    private static Response send(RequestSpecification req, String method, String resolvedUri) {
+        return switch (method.toUpperCase()) {
             case "GET" -> req.get(resolvedUri);
             case "POST" -> req.post(resolvedUri);
             case "PUT" -> req.put(resolvedUri);
             case "PATCH" -> req.patch(resolvedUri);
             case "DELETE" -> req.delete(resolvedUri);
-            default -> throw new IllegalArgumentException("Unsupported method: " + spec.getMethod());
+            default -> throw new IllegalArgumentException("Unsupported method: " + method);
         };
     }
 
@@ -0,0 +1,207 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One-pass validator for JSON array responses that never materialises the whole array.
+ * The body is read with a streaming {@link JsonParser}; only elements that an expectation refers to are
+ * turned into a (small) tree, every other element is skipped token by token, so heap use does not grow
+ * with the size of the list.
+ *
+ * <p>Supported DataTable keys:</p>
+ * <ul>
+ *     <li>{@code size} – element count: {@code 10}, {@code >0}, {@code >=5}, {@code <100}, {@code <=3}
+ *     or {@code __notempty__}</li>
+ *     <li>{@code [n].field.path} – value of one element (use {@code [n]} alone for the element itself)</li>
+ *     <li>{@code [*].field.path} – predicate every element must satisfy</li>
+ * </ul>
+ * Values are literals or the {@code __exists__}, {@code __not_exists__} and {@code __notempty__} keywords.
+ */
+public final class StreamingListValidator {
+
+    private static final String KEY_NOT_EMPTY = "__notempty__";
+    private static final String KEY_EXISTS = "__exists__";
+    private static final String KEY_NOT_EXISTS = "__not_exists__";
+    private static final String SIZE_KEY = "size";
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private final List<String> sizeChecks = new ArrayList<>();
+    private final Map<Integer, List<Check>> indexedChecks = new TreeMap<>();
+    private final List<Check> everyElementChecks = new ArrayList<>();
+
+    private record Check(String key, JsonPointer pointer, String expected) {
+    }
+
+    /**
+     * @param rows DataTable rows with {@code key} and (already resolved) {@code value} columns; an empty
+     *             {@code value} cell (null) is treated as an empty string
+     */
+    public StreamingListValidator(List<Map<String, String>> rows) {
+        for (Map<String, String> row : rows) {
+            String key = row.get("key") == null ? "" : row.get("key").trim();
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("List expectation without a key: " + row);
+            }
+            String expected = row.get("value") == null ? "" : row.get("value");
+            if (SIZE_KEY.equalsIgnoreCase(key)) {
+                if (expected.isBlank()) {
+                    throw new IllegalArgumentException("List expectation 'size' has an empty value");
+                }
+                sizeChecks.add(expected.trim());
+            } else if (key.startsWith("[*]")) {
+                everyElementChecks.add(new Check(key, pointerOf(key.substring(3)), expected));
+            } else if (key.startsWith("[") && key.indexOf(']') > 1) {
+                int close = key.indexOf(']');
+                int index = Integer.parseInt(key.substring(1, close).trim());
+                indexedChecks.computeIfAbsent(index, i -> new ArrayList<>())
+                        .add(new Check(key, pointerOf(key.substring(close + 1)), expected));
+            } else {
+                throw new IllegalArgumentException("Unsupported list expectation key: " + key);
+            }
+        }
+    }
+
+    /**
+     * Counts the elements of a top-level JSON array without building it.
+     *
+     * @param body response body stream
+     * @return number of elements, or -1 if the body is not a JSON array
+     * @throws IOException if the body cannot be read or is malformed
+     */
+    public static long count(InputStream body) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return -1;
+            }
+            long count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Streams the body once and evaluates every expectation.
+     *
+     * @param body response body stream
+     * @return failure messages; empty when all expectations hold
+     * @throws IOException if the body cannot be read or is malformed
+     */
+    public List<String> validate(InputStream body) throws IOException {
+        List<String> failures = new ArrayList<>();
+        long count = 0;
+
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                failures.add("Expected JSON response to be a list, but it was not.");
+                return failures;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                List<Check> checks = count <= Integer.MAX_VALUE ? indexedChecks.get((int) count) : null;
+                if (checks == null && everyElementChecks.isEmpty()) {
+                    parser.skipChildren();
+                } else {
+                    JsonNode element = MAPPER.readTree(parser);
+                    if (element == null) element = NullNode.getInstance();
+                    evaluate(checks, element, count, failures);
+                    evaluate(everyElementChecks, element, count, failures);
+                }
+                count++;
+            }
+        }
+
+        for (Map.Entry<Integer, List<Check>> e : indexedChecks.entrySet()) {
+            if (e.getKey() >= count) {
+                evaluate(e.getValue(), MissingNode.getInstance(), e.getKey(), failures);
+            }
+        }
+        for (String sizeCheck : sizeChecks) {
+            if (!sizeMatches(sizeCheck, count)) {
+                failures.add("Expected list size " + sizeCheck + ", but it was " + count + ".");
+            }
+        }
+        return failures;
+    }
+
+    private static void evaluate(List<Check> checks, JsonNode element, long index, List<String> failures) {
+        if (checks == null) {
+            return;
+        }
+        for (Check check : checks) {
+            if (failures.size() >= MAX_REPORTED_FAILURES) {
+                return;
+            }
+            JsonNode actual = element.at(check.pointer());
+            String failure = failureOf(check.expected(), actual);
+            if (failure != null) {
+                failures.add(String.format("'%s' at index %d: %s", check.key(), index, failure));
+            }
+        }
+    }
+
+    // Same keyword semantics as "response json should match": null counts as absent
+    private static String failureOf(String expected, JsonNode actual) {
+        boolean absent = actual.isMissingNode() || actual.isNull();
+        return switch (expected) {
+            case KEY_EXISTS -> absent ? "expected to exist, but it was not found" : null;
+            case KEY_NOT_EXISTS -> absent ? null : "expected to not exist, but it was " + actual;
+            case KEY_NOT_EMPTY -> absent || (actual.isContainerNode() && actual.isEmpty())
+                    || (actual.isTextual() && actual.asText().isEmpty())
+                    ? "expected to be not empty, but it was " + (absent ? "absent" : actual) : null;
+            default -> {
+                if (absent) {
+                    yield "expected '" + expected + "', but it was absent";
+                }
+                yield valueMatches(expected, actual) ? null : "expected '" + expected + "', but it was " + actual;
+            }
+        };
+    }
+
+    // Exact text, as in "response json should match": 1.0 does not match 1
+    private static boolean valueMatches(String expected, JsonNode actual) {
+        return (actual.isValueNode() ? actual.asText() : actual.toString()).equals(expected);
+    }
+
+    private static boolean sizeMatches(String check, long count) {
+        if (KEY_NOT_EMPTY.equals(check)) return count > 0;
+        if (check.startsWith(">=")) return count >= Long.parseLong(check.substring(2).trim());
+        if (check.startsWith("<=")) return count <= Long.parseLong(check.substring(2).trim());
+        if (check.startsWith(">")) return count > Long.parseLong(check.substring(1).trim());
+        if (check.startsWith("<")) return count < Long.parseLong(check.substring(1).trim());
+        return count == Long.parseLong(check);
+    }
+
+    // ".data.tags[0].name" or "data.tags[0].name" -> /data/tags/0/name
+    private static JsonPointer pointerOf(String path) {
+        String p = path.trim();
+        if (p.startsWith(".")) p = p.substring(1);
+        if (p.isEmpty()) return JsonPointer.empty();
+
+        StringBuilder pointer = new StringBuilder();
+        for (String segment : p.replace("[", ".").replace("]", "").split("\\.")) {
+            if (!segment.isEmpty()) {
+                pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            }
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+}
@@ -2,19 +2,26 @@ package com.qa.bdd.steps;
 
 import api.ApiYamlSpec;
 import api.ApiSpecLoader;
+import api.HostLimiter;
 import api.PayloadOverwriter;
+import api.RequestPayload;
+import api.RequestTemplates;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.When;
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import metrics.LoadMetrics;
+import metrics.PhaseTimings;
+import metrics.PhaseTimings.Phase;
 import context.ScenarioContext;
-import utils.Config;
+import utils.BodyLogger;
 import utils.ValueResolver;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public class ApiSteps {
@@ -30,7 +37,8 @@ public class ApiSteps {
     @When("I call api spec {string} with overrides")
     public void iCallApiWithOverrides(String yamlFile, DataTable table) {
         logger.info(() -> "Loading API spec: " + yamlFile);
-        ApiYamlSpec spec = ApiSpecLoader.load(yamlFile);
+        PhaseTimings timings = ScenarioContext.timings();
+        ApiYamlSpec spec = timings.time(Phase.SPEC_LOAD, yamlFile, () -> ApiSpecLoader.load(yamlFile));
 
         Map<String, String> pathParams = new HashMap<>();
         Map<String, List<String>> queryParams = new HashMap<>();
@@ -40,7 +48,7 @@ public class ApiSteps {
             table.asMaps(String.class, String.class).forEach(map -> {
                 String key = map.get("key");
                 String rawValue = map.get("value");
-                String value = ValueResolver.resolve(rawValue);
+                String value = timings.time(Phase.VALUE_RESOLVE, key, () -> ValueResolver.resolve(rawValue));
 
                 if ("wait".equalsIgnoreCase(key)) {
                     waitForSeconds(value);
@@ -59,31 +67,52 @@ public class ApiSteps {
             });
         }
 
-        String payload = (spec.getPayload() != null && !spec.getPayload().isBlank())
-                ? PayloadOverwriter.buildPayload(spec.getPayload(), jsonOverrides)
+        RequestPayload payload = (spec.getPayload() != null && !spec.getPayload().isBlank())
+                ? timings.time(Phase.PAYLOAD_BUILD, spec.getPayload(),
+                        () -> PayloadOverwriter.buildRequestPayload(spec.getPayload(), jsonOverrides))
                 : null;
 
         logger.info(() -> "Calling API " + spec.getMethod() + " " + spec.getUri());
         logger.info(() -> "Path params: " + pathParams);
         logger.info(() -> "Query params: " + queryParams);
-        if (payload != null) logger.info(() -> "Request body: " + payload);
+        if (payload != null) {
+            if (payload.isStreamed()) logger.info(() -> "Request body: " + payload);
+            else BodyLogger.log(logger, "Request body", payload.asString());
+        }
 
-        var request = RestAssured.given()
-                .baseUri(Config.get("baseUri"))
-                .headers(spec.getHeaders())
+        String baseUri = RequestTemplates.baseUri();
+        var request = RequestTemplates.given(spec, baseUri)
                 .pathParams(pathParams);
 
         queryParams.forEach((k, v) -> request.queryParam(k, v.toArray()));
-        if (payload != null) request.body(payload);
+        if (payload != null) payload.applyTo(request);
 
-        Response response = request.request(spec.getMethod(), spec.getUri());
+        Response response = HostLimiter.call(baseUri,
+                () -> send(request, spec, yamlFile, timings));
+        timings.record(Phase.HTTP_RESPONSE_TIME, yamlFile, TimeUnit.MILLISECONDS.toNanos(response.getTime()));
 
         logger.info(() -> "Response status: " + response.getStatusCode());
-        logger.info(() -> "Response body: " + response.getBody().asPrettyString());
+        BodyLogger.log(logger, "Response body", response);
 
         ScenarioContext.saveResponse(response);
     }
 
+    // Timed once the host permit is held, so time spent queueing in HostLimiter is not reported as latency
+    private Response send(RequestSpecification request, ApiYamlSpec spec, String yamlFile, PhaseTimings timings) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = request.request(spec.getMethod(), spec.getUri());
+        } catch (RuntimeException e) {
+            LoadMetrics.record(yamlFile, System.nanoTime() - start, -1);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        LoadMetrics.record(yamlFile, elapsed, response.getStatusCode());
+        timings.record(Phase.HTTP_ROUND_TRIP, yamlFile, elapsed);
+        return response;
+    }
+
     private void waitForSeconds(String value) {
         int seconds = Integer.parseInt(value);
         logger.info(() -> "⏳ Waiting for " + seconds + " seconds...");
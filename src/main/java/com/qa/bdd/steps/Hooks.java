@@ -1,17 +1,20 @@
 package com.qa.bdd.steps;
 
+import api.RequestPayload;
 import context.ScenarioContext;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import metrics.DriverCommandCounter;
+import metrics.PhaseTimings;
+import metrics.TimingRollup;
+import org.openqa.selenium.WebDriverException;
 import utils.DriverFactory;
 import utils.LogFactory;
+import utils.RandomSource;
+import utils.ReferenceElementCache;
+import utils.Screenshots;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.logging.Logger;
 
 public class Hooks {
@@ -21,39 +24,76 @@ public class Hooks {
     public void beforeScenario(Scenario scenario) {
         Logger logger = LogFactory.createScenarioLogger(scenario.getName());
         scenarioLogger.set(logger);
+        DriverCommandCounter.reset();
+        ReferenceElementCache.clear();
         logger.info("🚀 Starting scenario: " + scenario.getName());
     }
 
     @After
     public void afterScenario(Scenario scenario) {
+        attachTimings(scenario);
         ScenarioContext.clear();
         Logger logger = scenarioLogger.get();
+        reportDriverCommands(scenario, logger);
         try {
+            Screenshots.Screenshot screenshot = null;
             if (scenario.isFailed() && DriverFactory.getDriver() != null) {
-                TakesScreenshot ts = (TakesScreenshot) DriverFactory.getDriver();
-                File src = ts.getScreenshotAs(OutputType.FILE);
-                String safeName = scenario.getName().replaceAll("[^a-zA-Z0-9-_]", "_");
-                File destination = new File("target/screenshots/" + safeName + ".png");
-
-                Files.createDirectories(destination.getParentFile().toPath());
-                Files.copy(src.toPath(), destination.toPath());
-
-                logger.severe("❌ Scenario failed! Screenshot saved at: " + destination.getAbsolutePath());
-                scenario.attach(Files.readAllBytes(destination.toPath()), "image/png", safeName);
+                screenshot = Screenshots.capture(DriverFactory.getDriver(), scenario.getName());
             }
-        } catch (IOException e) {
+            // The screenshot is in memory; the browser can go back before it is attached and written
+            releaseDriver(scenario, logger);
+            if (screenshot != null) {
+                attachScreenshot(scenario, screenshot, logger);
+            }
+        } catch (WebDriverException e) {
             logger.severe("Failed to capture screenshot: " + e.getMessage());
         } finally {
-            if (DriverFactory.getDriver() != null) {
-                DriverFactory.quitDriver();
-                logger.info("🌙 Browser closed after scenario: " + scenario.getName());
-            }
+            releaseDriver(scenario, logger);
+            ReferenceElementCache.clear();
+            RequestPayload.releaseBuffer();
+            RandomSource.release();
             // mark end of scenario
             logger.info("✅ Finished scenario: " + scenario.getName());
             scenarioLogger.remove();
+            LogFactory.releaseScenarioLogger(scenario.getName());
         }
     }
 
+    private void releaseDriver(Scenario scenario, Logger logger) {
+        if (DriverFactory.getDriver() != null) {
+            DriverFactory.releaseDriver();
+            logger.info("🌙 Browser released after scenario: " + scenario.getName());
+        }
+    }
+
+    // A retry that fails on the same screen refers to the screenshot attached by the earlier attempt
+    private void attachScreenshot(Scenario scenario, Screenshots.Screenshot screenshot, Logger logger) {
+        logger.severe("❌ Scenario failed! Screenshot saved at: " + screenshot.file().toAbsolutePath());
+        String name = screenshot.file().getFileName().toString();
+        if (Screenshots.markAttached(scenario.getUri() + ":" + scenario.getLine(), screenshot)) {
+            scenario.attach(screenshot.png(), "image/png", name);
+        } else {
+            scenario.attach("Same screenshot as an earlier attempt: " + name, "text/plain", name);
+        }
+    }
+
+    // Phase timings must be read before the scenario context is cleared
+    private void attachTimings(Scenario scenario) {
+        PhaseTimings timings = ScenarioContext.getTimings();
+        if (timings == null || timings.isEmpty()) {
+            return;
+        }
+        scenario.attach(timings.toJson(), "application/json", "timings");
+        TimingRollup.add(scenario.getUri(), timings);
+    }
+
+    private void reportDriverCommands(Scenario scenario, Logger logger) {
+        long commands = DriverCommandCounter.count();
+        if (commands > 0) {
+            logger.info(() -> "🔢 WebDriver commands in scenario: " + commands);
+            scenario.attach(String.valueOf(commands), "text/plain", "driver-commands");
+        }
+    }
 
     public static Logger getLogger() {
         return scenarioLogger.get();
@@ -10,13 +10,14 @@ import utils.WebDriverUtils;
 import utils.DriverFactory;
 import utils.Config;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 public class UiSteps {
 
-    private static final Logger logger = Hooks.getLogger();
+    private final Logger logger = Hooks.getLogger();
 
     @SuppressWarnings("unused")
     @Given("I launch browser {string}")
@@ -38,8 +39,13 @@ public class UiSteps {
     public void performUIActions(DataTable dataTable) {
         List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
 
-        for (Map<String, String> row : rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, String> row = rows.get(i);
             String operation = row.get("operation").toLowerCase();
+            if (operation.equals("fill")) {
+                i = fillConsecutiveRows(rows, i) - 1;
+                continue;
+            }
             String locatorKey = row.get("locatorKey");
             String rawValue = row.get("value");
             String value = ValueResolver.resolve(rawValue);
@@ -68,6 +74,24 @@ public class UiSteps {
         }
     }
 
+    /**
+     * Collects the run of consecutive "fill" rows starting at {@code start} and fills them with one script call.
+     *
+     * @return index of the first row after the run
+     */
+    private int fillConsecutiveRows(List<Map<String, String>> rows, int start) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        int end = start;
+        while (end < rows.size() && rows.get(end).get("operation").equalsIgnoreCase("fill")) {
+            Map<String, String> row = rows.get(end);
+            fields.put(row.get("locatorKey"), ValueResolver.resolve(row.get("value")));
+            end++;
+        }
+        WebDriverUtils.fillForm(fields);
+        logger.info(() -> "✅ Completed operation: fill on " + fields.keySet());
+        return end;
+    }
+
     private void waitForSeconds(String value) {
         int seconds = Integer.parseInt(value);
         logger.info(() -> "⏳ Waiting for " + seconds + " seconds...");
@@ -1,19 +1,29 @@
 package com.qa.bdd.steps;
 
+import api.ResponseDocument;
+import api.StreamingListValidator;
 import context.ScenarioContext;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Then;
 import io.restassured.response.Response;
+import metrics.PhaseTimings;
+import metrics.PhaseTimings.Phase;
 import org.testng.Assert;
+import utils.BodyLogger;
 import utils.ValueResolver;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 public class ValidateSteps {
 
-    private static final Logger logger = Hooks.getLogger();
+    private final Logger logger = Hooks.getLogger();
 
     private static final String KEY_NOT_EMPTY = "__notempty__";
     private static final String KEY_EXISTS = "__exists__";
@@ -59,42 +69,51 @@ public class ValidateSteps {
     @Then("response json should match")
     public void responseJsonShouldMatch(DataTable table) {
         Response response = ScenarioContext.getResponse();
-        String responseBody = response.getBody().asString();
+        BodyLogger.log(logger, "🔎 Validating JSON response body", response);
+
+        ResponseDocument document = ScenarioContext.getResponseDocument();
+        PhaseTimings timings = ScenarioContext.timings();
+        long start = System.nanoTime();
+        try {
+            for (Map<String, String> row : table.asMaps()) {
+                validateRow(document, row, timings);
+            }
+        } finally {
+            timings.record(Phase.VALIDATION, "response json should match", System.nanoTime() - start);
+        }
+    }
 
-        logger.info(() -> String.format("🔎 Validating JSON response body:%n%s", responseBody));
+    private void validateRow(ResponseDocument document, Map<String, String> row, PhaseTimings timings) {
+        String jsonPath = row.get("key");
+        String rawExpected = row.get("value");
 
-        for (Map<String, String> row : table.asMaps()) {
-            String jsonPath = row.get("key");
-            String rawExpected = row.get("value");
+        String expected = timings.time(Phase.VALUE_RESOLVE, jsonPath, () -> ValueResolver.resolve(rawExpected));
+        Object actual = document.read(jsonPath);
 
-            String expected = ValueResolver.resolve(rawExpected);
-            Object actual = response.jsonPath().get(jsonPath);
-
-            logger.info(() -> String.format("Checking JSON path: %s | Expected(raw): %s (resolved: %s) | Actual: %s",
-                    jsonPath, rawExpected, expected, actual));
-
-            switch (rawExpected) {
-                case KEY_NOT_EMPTY:
-                    // Correct logic: Checks for not null and not empty
-                    assertNotEmpty(jsonPath, actual);
-                    break;
-
-                case KEY_EXISTS:
-                    // Correct logic: Checks for existence (must NOT be null)
-                    Assert.assertNotNull(actual, ASSERTION_PREFIX + jsonPath + "' to exist, but it was not found (null).");
-                    break;
-
-                case KEY_NOT_EXISTS:
-                    // Correct logic: Checks for non-existence (must be null)
-                    Assert.assertNull(actual, ASSERTION_PREFIX + jsonPath + "' to not exist, but it was found.");
-                    break;
-
-                default:
-                    // Executes for non-special keywords (e.g., your literal "expected value")
-                    Assert.assertNotNull(actual, ASSERTION_PREFIX + jsonPath + "' to exist and have a value, but it was null.");
-                    Assert.assertEquals(actual.toString(), expected, "Value mismatch for JSON path '" + jsonPath + "'.");
-                    break;
-            }
+        logger.info(() -> String.format("Checking JSON path: %s | Expected(raw): %s (resolved: %s) | Actual: %s",
+                jsonPath, rawExpected, expected, actual));
+
+        switch (rawExpected) {
+            case KEY_NOT_EMPTY:
+                // Correct logic: Checks for not null and not empty
+                assertNotEmpty(jsonPath, actual);
+                break;
+
+            case KEY_EXISTS:
+                // Correct logic: Checks for existence (must NOT be null)
+                Assert.assertNotNull(actual, ASSERTION_PREFIX + jsonPath + "' to exist, but it was not found (null).");
+                break;
+
+            case KEY_NOT_EXISTS:
+                // Correct logic: Checks for non-existence (must be null)
+                Assert.assertNull(actual, ASSERTION_PREFIX + jsonPath + "' to not exist, but it was found.");
+                break;
+
+            default:
+                // Executes for non-special keywords (e.g., your literal "expected value")
+                Assert.assertNotNull(actual, ASSERTION_PREFIX + jsonPath + "' to exist and have a value, but it was null.");
+                Assert.assertEquals(actual.toString(), expected, "Value mismatch for JSON path '" + jsonPath + "'.");
+                break;
         }
     }
 
@@ -102,11 +121,59 @@ public class ValidateSteps {
     @Then("response should contain a list of objects")
     public void responseShouldContainAListOfObjects() {
         Response response = ScenarioContext.getResponse();
-        List<?> list = response.jsonPath().getList("$");
+        long start = System.nanoTime();
+        long size;
+        try (InputStream body = new ByteArrayInputStream(response.asByteArray())) {
+            size = StreamingListValidator.count(body);
+        } catch (IOException e) {
+            throw new AssertionError("Expected JSON response to be a list, but it could not be read: " + e.getMessage(), e);
+        } finally {
+            ScenarioContext.timings().record(Phase.VALIDATION, "response should contain a list of objects",
+                    System.nanoTime() - start);
+        }
 
-        Assert.assertNotNull(list, "Expected JSON response to be a list, but it was not.");
-        Assert.assertFalse(list.isEmpty(), "Expected JSON response list to be non-empty.");
+        Assert.assertTrue(size >= 0, "Expected JSON response to be a list, but it was not.");
+        Assert.assertTrue(size > 0, "Expected JSON response list to be non-empty.");
+
+        logger.info(() -> String.format("Validating response contains a list with size %d", size));
+    }
+
+    /**
+     * Validates a (possibly very large) JSON array response in a single streaming pass.
+     * See {@link StreamingListValidator} for the supported keys.
+     */
+    @SuppressWarnings("unused")
+    @Then("response list should match")
+    public void responseListShouldMatch(DataTable table) {
+        Response response = ScenarioContext.getResponse();
+        PhaseTimings timings = ScenarioContext.timings();
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (Map<String, String> row : table.asMaps()) {
+            String key = row.get("key");
+            Assert.assertTrue(key != null && !key.isBlank(),
+                    "Row " + (rows.size() + 1) + " of the list expectations has an empty 'key' cell.");
+            String rawExpected = row.get("value");
+            String expected = timings.time(Phase.VALUE_RESOLVE, key, () -> ValueResolver.resolve(rawExpected));
+            // Cells may be empty (null), which Map.of rejects
+            Map<String, String> resolved = new HashMap<>();
+            resolved.put("key", key);
+            resolved.put("value", expected);
+            rows.add(resolved);
+        }
+
+        long start = System.nanoTime();
+        List<String> failures;
+        try (InputStream body = new ByteArrayInputStream(response.asByteArray())) {
+            failures = new StreamingListValidator(rows).validate(body);
+        } catch (IOException e) {
+            throw new AssertionError("Could not stream JSON response list: " + e.getMessage(), e);
+        } finally {
+            timings.record(Phase.VALIDATION, "response list should match", System.nanoTime() - start);
+        }
 
-        logger.info(() -> String.format("Validating response contains a list with size %d", list.size()));
+        logger.info(() -> String.format("Streamed list validation of %d expectations: %d failures",
+                rows.size(), failures.size()));
+        Assert.assertTrue(failures.isEmpty(), "List validation failed:\n" + String.join("\n", failures));
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package context;
 
+import api.ResponseDocument;
 import io.restassured.response.Response;
 import lombok.experimental.UtilityClass;
+import metrics.PhaseTimings;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -43,9 +45,32 @@ public class ScenarioContext {
     // Keep compatibility for Response
     public void saveResponse(Response response) {
         put("_response", response);
+        context.get().remove("_responseDocument");
     }
 
     public Response getResponse() {
         return (Response) get("_response");
     }
+
+    /**
+     * Parsed body of the last saved response, shared by all assertions until the next response is saved.
+     */
+    public ResponseDocument getResponseDocument() {
+        return (ResponseDocument) context.get()
+                .computeIfAbsent("_responseDocument", k -> new ResponseDocument(getResponse()));
+    }
+
+    /**
+     * Phase timings of the current scenario, created on first use.
+     */
+    public PhaseTimings timings() {
+        return (PhaseTimings) context.get().computeIfAbsent("_timings", k -> new PhaseTimings());
+    }
+
+    /**
+     * @return phase timings of the current scenario, or null if nothing was timed
+     */
+    public PhaseTimings getTimings() {
+        return (PhaseTimings) get("_timings");
+    }
 }
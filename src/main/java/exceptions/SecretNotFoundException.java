@@ -0,0 +1,14 @@
+package exceptions;
+
+/**
+ * Thrown when a {@code ${vault:...}} secret cannot be resolved by the configured provider.
+ */
+public class SecretNotFoundException extends RuntimeException {
+    public SecretNotFoundException(String message) {
+        super(message);
+    }
+
+    public SecretNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package metrics;
+
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+
+/**
+ * Counts WebDriver commands issued by the current scenario thread.
+ * Drivers are wrapped with an {@link org.openqa.selenium.support.events.EventFiringDecorator} whose
+ * {@link #listener()} increments a per-thread counter for
+ * every call on the driver or anything it returns (elements, navigation, options…); purely local calls such as
+ * {@code toString()} or unwrapping are not counted. Hooks reset the counter when a scenario starts and report
+ * it when the scenario ends.
+ */
+public final class DriverCommandCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final WebDriverListener LISTENER = new WebDriverListener() {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            Class<?> declaring = method.getDeclaringClass();
+            if (declaring != Object.class && declaring != WrapsDriver.class && declaring != WrapsElement.class) {
+                COUNT.get()[0]++;
+            }
+        }
+    };
+
+    private DriverCommandCounter() {
+        // utility class
+    }
+
+    /**
+     * @return listener to register on the driver's event-firing decorator
+     */
+    public static WebDriverListener listener() {
+        return LISTENER;
+    }
+
+    /**
+     * Starts counting from zero on the current thread.
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * @return commands issued by the current thread since the last {@link #reset()}
+     */
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
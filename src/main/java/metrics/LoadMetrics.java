@@ -0,0 +1,110 @@
+package metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-spec request latency and error counters collected while a load test is running.
+ * Recording is a no-op until {@link #start()} is called, so regular suite runs pay nothing.
+ */
+public final class LoadMetrics {
+
+    private static final ConcurrentMap<String, SpecStats> STATS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile long startedAtNanos;
+
+    private LoadMetrics() {
+        // utility class
+    }
+
+    /**
+     * Clears previous samples and starts recording.
+     */
+    public static void start() {
+        STATS.clear();
+        startedAtNanos = System.nanoTime();
+        enabled = true;
+    }
+
+    /**
+     * Stops recording; collected samples stay available for {@link #summary()}.
+     */
+    public static void stop() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one API call.
+     *
+     * @param spec       API spec file name the call was made for
+     * @param nanos      round-trip time in nanoseconds
+     * @param statusCode HTTP status; 5xx responses and negative codes (transport errors) count as errors
+     */
+    public static void record(String spec, long nanos, int statusCode) {
+        if (!enabled) {
+            return;
+        }
+        SpecStats stats = STATS.computeIfAbsent(spec, key -> new SpecStats());
+        stats.latency.recordNanos(nanos);
+        if (statusCode < 0 || statusCode >= 500) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Builds a JSON-friendly summary: totals, requests per second and latency percentiles per spec.
+     *
+     * @return ordered map of summary values
+     */
+    public static Map<String, Object> summary() {
+        double elapsedSeconds = Math.max(1e-9, (System.nanoTime() - startedAtNanos) / 1e9);
+        long totalRequests = 0;
+        long totalErrors = 0;
+
+        Map<String, Object> specs = new TreeMap<>();
+        for (Map.Entry<String, SpecStats> e : STATS.entrySet()) {
+            LatencyHistogram h = e.getValue().latency;
+            long errors = e.getValue().errors.sum();
+            totalRequests += h.count();
+            totalErrors += errors;
+
+            Map<String, Object> spec = new LinkedHashMap<>();
+            spec.put("requests", h.count());
+            spec.put("errors", errors);
+            spec.put("requestsPerSecond", round(h.count() / elapsedSeconds));
+            spec.put("minMs", round(h.minMillis()));
+            spec.put("meanMs", round(h.meanMillis()));
+            spec.put("p50Ms", round(h.percentileMillis(50)));
+            spec.put("p90Ms", round(h.percentileMillis(90)));
+            spec.put("p99Ms", round(h.percentileMillis(99)));
+            spec.put("p999Ms", round(h.percentileMillis(99.9)));
+            spec.put("maxMs", round(h.maxMillis()));
+            specs.put(e.getKey(), spec);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedSeconds", round(elapsedSeconds));
+        summary.put("requests", totalRequests);
+        summary.put("errors", totalErrors);
+        summary.put("requestsPerSecond", round(totalRequests / elapsedSeconds));
+        summary.put("specs", specs);
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static final class SpecStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,94 @@
+package metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Nanosecond timings of the phases of a single scenario's API calls.
+ * One instance lives in the scenario's {@link context.ScenarioContext}; it is only touched by the
+ * scenario thread and is therefore not synchronized. Phases may nest (value resolution inside
+ * validation, for example), so their totals are not meant to add up to the scenario duration.
+ */
+public final class PhaseTimings {
+
+    public enum Phase {
+        SPEC_LOAD,
+        VALUE_RESOLVE,
+        PAYLOAD_BUILD,
+        HTTP_ROUND_TRIP,
+        /** Server response time as reported by RestAssured's {@code Response.getTime()}. */
+        HTTP_RESPONSE_TIME,
+        VALIDATION
+    }
+
+    /**
+     * One timed call.
+     *
+     * @param phase phase the call belongs to
+     * @param label spec file, JSON path or other short description
+     * @param nanos elapsed nanoseconds
+     */
+    public record Entry(Phase phase, String label, long nanos) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    public void record(Phase phase, String label, long nanos) {
+        entries.add(new Entry(phase, label, nanos));
+    }
+
+    /**
+     * Times a call and records it under the given phase.
+     */
+    public <T> T time(Phase phase, String label, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            record(phase, label, System.nanoTime() - start);
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public List<Entry> entries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return total nanoseconds per phase, in phase order
+     */
+    public Map<Phase, Long> totals() {
+        Map<Phase, Long> totals = new EnumMap<>(Phase.class);
+        for (Entry e : entries) {
+            totals.merge(e.phase(), e.nanos(), Long::sum);
+        }
+        return totals;
+    }
+
+    /**
+     * Renders the timings as a small JSON document suitable for {@code Scenario.attach}.
+     */
+    public String toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("totalsNanos", totals());
+        json.put("entries", entries);
+        try {
+            return MAPPER.writeValueAsString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize phase timings", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package metrics;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suite-wide roll-up of {@link PhaseTimings} per feature file.
+ * Scenario threads add their timings when they finish; the runner reads the totals when it
+ * processes the reports.
+ */
+public final class TimingRollup {
+
+    private static final ConcurrentMap<String, FeatureTimings> FEATURES = new ConcurrentHashMap<>();
+
+    private TimingRollup() {
+        // utility class
+    }
+
+    /**
+     * Adds a finished scenario's timings to its feature's totals.
+     *
+     * @param featureUri URI of the scenario's feature file
+     * @param timings    the scenario's timings
+     */
+    public static void add(URI featureUri, PhaseTimings timings) {
+        FeatureTimings feature = FEATURES.computeIfAbsent(key(featureUri), key -> new FeatureTimings());
+        feature.scenarios.increment();
+        timings.entries().forEach(e -> {
+            feature.nanos.get(e.phase()).add(e.nanos());
+            feature.calls.get(e.phase()).increment();
+        });
+    }
+
+    /**
+     * Looks up the roll-up for a feature as referenced in the Cucumber JSON report, whose {@code uri}
+     * is relative (e.g. {@code file:src/test/resources/features/api/x.feature}). Both sides are resolved to the
+     * full normalized path, so same-named files in different directories stay apart.
+     *
+     * @param reportUri feature uri from the JSON report
+     * @return per-phase totals, or {@code null} if no timings were recorded for the feature
+     */
+    public static Map<String, Object> forFeature(String reportUri) {
+        FeatureTimings feature = FEATURES.get(key(URI.create(reportUri)));
+        return feature != null ? feature.toMap() : null;
+    }
+
+    public static boolean isEmpty() {
+        return FEATURES.isEmpty();
+    }
+
+    // Scenarios see absolute file URIs, the JSON report relative ones: both map to the same absolute path
+    static String key(URI uri) {
+        if (!"file".equals(uri.getScheme())) {
+            return uri.toString();
+        }
+        Path path = uri.isOpaque() ? Paths.get(uri.getSchemeSpecificPart()) : Paths.get(uri);
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    private static final class FeatureTimings {
+        private final LongAdder scenarios = new LongAdder();
+        private final Map<PhaseTimings.Phase, LongAdder> nanos = new EnumMap<>(PhaseTimings.Phase.class);
+        private final Map<PhaseTimings.Phase, LongAdder> calls = new EnumMap<>(PhaseTimings.Phase.class);
+
+        private FeatureTimings() {
+            for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+                nanos.put(phase, new LongAdder());
+                calls.put(phase, new LongAdder());
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> phases = new LinkedHashMap<>();
+            nanos.forEach((phase, total) -> {
+                long count = calls.get(phase).sum();
+                if (count > 0) {
+                    phases.put(phase.name(), Map.of("calls", count, "totalNanos", total.sum()));
+                }
+            });
+            return Map.of("scenarios", scenarios.sum(), "phases", phases);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package secrets;
+
+import exceptions.SecretNotFoundException;
+
+import java.util.Locale;
+
+/**
+ * Reads secrets from the environment: {@code ${vault:db.password}} is looked up as the system property
+ * {@code vault.db.password}, then as the environment variable {@code VAULT_DB_PASSWORD}.
+ */
+public final class EnvSecretProvider implements SecretProvider {
+
+    @Override
+    public String name() {
+        return "env";
+    }
+
+    @Override
+    public String fetch(String key) {
+        String value = System.getProperty("vault." + key);
+        if (value == null) {
+            value = System.getenv(envName(key));
+        }
+        if (value == null) {
+            throw new SecretNotFoundException("Secret '" + key + "' not found in system property vault." + key
+                    + " or environment variable " + envName(key));
+        }
+        return value;
+    }
+
+    static String envName(String key) {
+        return "VAULT_" + key.replaceAll("[^A-Za-z0-9]", "_").toUpperCase(Locale.ROOT);
+    }
+}
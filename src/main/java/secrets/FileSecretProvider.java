@@ -0,0 +1,65 @@
+package secrets;
+
+import exceptions.SecretNotFoundException;
+import utils.Config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Reads secrets from a properties file given by {@code vault.file.path}
+ * (default {@code secrets.properties} in the working directory, which should not be committed).
+ * The file is loaded once, on first use.
+ */
+public final class FileSecretProvider implements SecretProvider {
+
+    private volatile Properties secrets;
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public String fetch(String key) {
+        String value = secrets().getProperty(key);
+        if (value == null) {
+            throw new SecretNotFoundException("Secret '" + key + "' not found in " + path());
+        }
+        return value;
+    }
+
+    private Properties secrets() {
+        Properties loaded = secrets;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = secrets;
+                if (loaded == null) {
+                    loaded = load(path());
+                    secrets = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Path path() {
+        String configured = Config.get("vault.file.path");
+        return Paths.get(configured == null || configured.isBlank() ? "secrets.properties" : configured);
+    }
+
+    private static Properties load(Path file) {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            throw new SecretNotFoundException("Failed to read secrets file: " + file, e);
+        }
+        return props;
+    }
+}
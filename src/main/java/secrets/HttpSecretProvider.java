@@ -0,0 +1,135 @@
+package secrets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import exceptions.SecretNotFoundException;
+import utils.Config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Fetches secrets over HTTP with {@code GET <vault.http.url>/<key>}; a local stub server can stand in for
+ * the real secret service.
+ *
+ * <p>Settings: {@code vault.http.url} (required), {@code vault.http.tokenHeader} (default
+ * {@code X-Vault-Token}) sent with the value of the environment variable named by {@code vault.http.tokenEnv}
+ * (default {@code VAULT_TOKEN}), {@code vault.http.valuePointer} (default {@code /value}) locating the secret in
+ * a JSON response, and {@code vault.http.timeoutSeconds} (default 10; the request timeout is read per request, the
+ * connect timeout when the provider is created). Non-JSON responses are used as-is.</p>
+ */
+public final class HttpSecretProvider implements SecretProvider {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String tokenHeader;
+    private final String token;
+    private final String valuePointer;
+
+    public HttpSecretProvider() {
+        String url = Config.get("vault.http.url");
+        this.baseUrl = url == null ? null : url.replaceAll("/+$", "");
+        this.tokenHeader = orDefault(Config.get("vault.http.tokenHeader"), "X-Vault-Token");
+        this.token = System.getenv(orDefault(Config.get("vault.http.tokenEnv"), "VAULT_TOKEN"));
+        this.valuePointer = orDefault(Config.get("vault.http.valuePointer"), "/value");
+        this.client = HttpClient.newBuilder().connectTimeout(timeout()).build();
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public String fetch(String key) {
+        try {
+            return send(key).join();
+        } catch (CompletionException e) {
+            throw unwrap(key, e);
+        }
+    }
+
+    /**
+     * Sends all requests concurrently over the shared client and waits for them together.
+     */
+    @Override
+    public Map<String, String> fetchAll(Collection<String> keys) {
+        Map<String, CompletableFuture<String>> pending = new LinkedHashMap<>();
+        for (String key : keys) {
+            pending.put(key, send(key));
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        pending.forEach((key, future) -> {
+            try {
+                values.put(key, future.join());
+            } catch (CompletionException e) {
+                // unresolved keys fail when a scenario actually uses them
+            }
+        });
+        return values;
+    }
+
+    private static Duration timeout() {
+        return Config.getDuration("vault.http.timeoutSeconds", Duration.ofSeconds(10), ChronoUnit.SECONDS);
+    }
+
+    private CompletableFuture<String> send(String key) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            return CompletableFuture.failedFuture(
+                    new SecretNotFoundException("vault.http.url is not configured"));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/" + URLEncoder.encode(key, StandardCharsets.UTF_8)))
+                .timeout(timeout())
+                .GET();
+        if (token != null) {
+            request.header(tokenHeader, token);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> valueOf(key, response));
+    }
+
+    private String valueOf(String key, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new SecretNotFoundException("Secret '" + key + "' not available: HTTP " + response.statusCode());
+        }
+        String body = response.body().trim();
+        if (!body.startsWith("{")) {
+            return body;
+        }
+        try {
+            JsonNode value = MAPPER.readTree(body).at(valuePointer);
+            if (value.isMissingNode() || value.isNull()) {
+                throw new SecretNotFoundException("Secret '" + key + "' response has no value at " + valuePointer);
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        } catch (IOException e) {
+            throw new SecretNotFoundException("Secret '" + key + "' response is not valid JSON", e);
+        }
+    }
+
+    private static SecretNotFoundException unwrap(String key, CompletionException e) {
+        if (e.getCause() instanceof SecretNotFoundException notFound) {
+            return notFound;
+        }
+        return new SecretNotFoundException("Failed to fetch secret '" + key + "'", e.getCause());
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
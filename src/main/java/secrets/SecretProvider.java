@@ -0,0 +1,48 @@
+package secrets;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Source of {@code ${vault:key}} secrets.
+ * The provider is chosen by the {@code vault.provider} property: {@code file}, {@code env} and {@code http}
+ * are built in; other implementations are discovered with {@link java.util.ServiceLoader} (register them in
+ * {@code META-INF/services/secrets.SecretProvider}) and matched by {@link #name()}.
+ * Implementations must be thread-safe; caching and de-duplication are done by {@link SecretStore}.
+ */
+public interface SecretProvider {
+
+    /**
+     * @return name used in {@code vault.provider}
+     */
+    String name();
+
+    /**
+     * Fetches one secret.
+     *
+     * @param key secret key as written in the token
+     * @return secret value, never null
+     * @throws exceptions.SecretNotFoundException if the key is unknown or the backend fails
+     */
+    String fetch(String key);
+
+    /**
+     * Fetches several secrets at once; keys that cannot be resolved are left out of the result.
+     * Providers with a batch or concurrent backend should override this.
+     *
+     * @param keys secret keys
+     * @return resolved secrets by key
+     */
+    default Map<String, String> fetchAll(Collection<String> keys) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : keys) {
+            try {
+                values.put(key, fetch(key));
+            } catch (RuntimeException e) {
+                // unresolved keys fail when a scenario actually uses them
+            }
+        }
+        return values;
+    }
+}
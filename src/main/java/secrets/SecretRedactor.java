@@ -0,0 +1,45 @@
+package secrets;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Masks secret values in log output.
+ * {@link SecretStore} registers every value it hands out; scenario log formatters pass each message through
+ * {@link #redact(String)}. Kept apart from the store so logging never triggers provider initialisation.
+ */
+public final class SecretRedactor {
+
+    private static final String MASK = "*****";
+    /** Shorter values are not masked; they would mangle unrelated log text. */
+    private static final int MIN_LENGTH = 4;
+
+    private static final Set<String> SECRETS = ConcurrentHashMap.newKeySet();
+
+    private SecretRedactor() {
+        // utility class
+    }
+
+    static void register(String secret) {
+        if (secret != null && secret.length() >= MIN_LENGTH) {
+            SECRETS.add(secret);
+        }
+    }
+
+    /**
+     * @param message log text (may be null)
+     * @return text with every registered secret replaced by {@value #MASK}
+     */
+    public static String redact(String message) {
+        if (message == null || SECRETS.isEmpty()) {
+            return message;
+        }
+        String result = message;
+        for (String secret : SECRETS) {
+            if (result.contains(secret)) {
+                result = result.replace(secret, MASK);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,216 @@
+package secrets;
+
+import exceptions.SecretNotFoundException;
+import utils.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Suite-wide cache in front of the configured {@link SecretProvider}.
+ * Values are kept for {@code vault.ttlSeconds} (default 300). Concurrent lookups of a key that is not cached
+ * share one in-flight fetch, so parallel scenarios asking for the same secret hit the backend once; failed
+ * fetches are not cached. Every value handed out is registered with {@link SecretRedactor} for log masking.
+ */
+public final class SecretStore {
+
+    private static final Logger logger = Logger.getLogger(SecretStore.class.getName());
+
+    private static final Pattern VAULT_TOKEN = Pattern.compile("\\$\\{vault:([^}]+)}");
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /** Created on first use, so a misconfigured provider fails the lookup instead of the class initializer. */
+    private static volatile SecretProvider provider;
+
+    private static final ConcurrentMap<String, CompletableFuture<Cached>> CACHE = new ConcurrentHashMap<>();
+
+    private record Cached(String value, long expiresAt) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+
+    private SecretStore() {
+        // utility class
+    }
+
+    /**
+     * Returns a secret, fetching it from the provider unless a fresh value is cached.
+     *
+     * @param key secret key
+     * @return secret value
+     * @throws SecretNotFoundException if the provider cannot resolve the key
+     */
+    public static String get(String key) {
+        while (true) {
+            CompletableFuture<Cached> existing = CACHE.get(key);
+            if (existing != null && !isStale(existing)) {
+                return await(key, existing);
+            }
+            CompletableFuture<Cached> mine = new CompletableFuture<>();
+            boolean won = existing == null
+                    ? CACHE.putIfAbsent(key, mine) == null
+                    : CACHE.replace(key, existing, mine);
+            if (won) {
+                try {
+                    mine.complete(remember(provider().fetch(key)));
+                } catch (RuntimeException e) {
+                    CACHE.remove(key, mine);
+                    mine.completeExceptionally(e);
+                }
+                return await(key, mine);
+            }
+        }
+    }
+
+    /**
+     * Fetches all given keys that are not cached yet in one provider call.
+     *
+     * @param keys secret keys
+     * @return number of secrets now cached
+     */
+    public static int prefetch(Collection<String> keys) {
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            CompletableFuture<Cached> existing = CACHE.get(key);
+            if (existing == null || isStale(existing)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, String> values = provider().fetchAll(missing);
+            values.forEach((key, value) -> CACHE.put(key, CompletableFuture.completedFuture(remember(value))));
+            if (values.size() < missing.size()) {
+                logger.warning(() -> String.format("⚠️ %d of %d vault secrets could not be prefetched",
+                        missing.size() - values.size(), missing.size()));
+            }
+        }
+        return (int) keys.stream().filter(CACHE::containsKey).count();
+    }
+
+    /**
+     * Scans feature files for {@code ${vault:...}} tokens and prefetches their secrets, so scenarios start
+     * with a warm cache. Failures are logged; a missing secret fails only the scenarios that use it.
+     *
+     * @param featureRoot directory containing {@code .feature} files
+     */
+    public static void prefetchFromFeatures(Path featureRoot) {
+        Set<String> keys = new TreeSet<>();
+        try (Stream<Path> files = Files.walk(featureRoot)) {
+            files.filter(p -> p.toString().endsWith(".feature")).forEach(file -> collectKeys(file, keys));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not scan features for vault tokens in " + featureRoot);
+            return;
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            int cached = prefetch(keys);
+            logger.info(() -> String.format("🔑 Prefetched %d of %d vault secrets via '%s' provider",
+                    cached, keys.size(), provider().name()));
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Vault prefetch failed");
+        }
+    }
+
+    /**
+     * Drops all cached secrets (values already handed out stay redacted).
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static void collectKeys(Path file, Set<String> keys) {
+        try {
+            Matcher m = VAULT_TOKEN.matcher(Files.readString(file));
+            while (m.find()) {
+                keys.add(m.group(1).trim());
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not read " + file);
+        }
+    }
+
+    private static Cached remember(String value) {
+        SecretRedactor.register(value);
+        long ttlNanos = Config.getDuration("vault.ttlSeconds", DEFAULT_TTL, ChronoUnit.SECONDS).toNanos();
+        return new Cached(value, System.nanoTime() + ttlNanos);
+    }
+
+    private static boolean isStale(CompletableFuture<Cached> future) {
+        return future.isDone() && !future.isCompletedExceptionally() && future.join().isExpired();
+    }
+
+    private static String await(String key, CompletableFuture<Cached> future) {
+        try {
+            return future.join().value();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SecretNotFoundException notFound) {
+                throw notFound;
+            }
+            throw new SecretNotFoundException("Failed to fetch secret '" + key + "'", e.getCause());
+        }
+    }
+
+    // A failed creation is not remembered; the next lookup tries again
+    private static SecretProvider provider() {
+        SecretProvider current = provider;
+        if (current == null) {
+            synchronized (SecretStore.class) {
+                current = provider;
+                if (current == null) {
+                    current = createProvider();
+                    provider = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static SecretProvider createProvider() {
+        String name = Config.get("vault.provider");
+        String wanted = name == null || name.isBlank() ? "env" : name.trim();
+        SecretProvider created;
+        try {
+            created = switch (wanted) {
+                case "env" -> new EnvSecretProvider();
+                case "file" -> new FileSecretProvider();
+                case "http" -> new HttpSecretProvider();
+                default -> ServiceLoader.load(SecretProvider.class).stream()
+                        .map(ServiceLoader.Provider::get)
+                        .filter(p -> p.name().equals(wanted))
+                        .findFirst()
+                        .orElse(null);
+            };
+        } catch (RuntimeException | ServiceConfigurationError e) {
+            throw new IllegalStateException("Could not create the '" + wanted + "' secret provider (vault.provider): "
+                    + e.getMessage(), e);
+        }
+        if (created == null) {
+            throw new IllegalStateException("Unknown vault.provider: " + wanted);
+        }
+        logger.info(() -> "🔑 Using '" + created.name() + "' secret provider");
+        return created;
+    }
+}
@@ -0,0 +1,408 @@
+package utils;
+
+import secrets.SecretRedactor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous writer behind the scenario loggers.
+ * Scenario threads only publish {@link LogRecord}s into a bounded lock-free ring buffer; a single daemon thread
+ * formats them (with a cached per-second timestamp), redacts secrets and collects them per scenario. A
+ * scenario's lines are written to the shared {@link RunLog} as one compressed block whenever
+ * {@code log.runlog.blockKb} of text has collected, when its oldest unwritten line is {@code log.runlog.flushMillis}
+ * (default 30000; every timed flush starts a new, separately compressed block) old, and when the scenario's
+ * logger is released. The flush interval and {@code log.async.blockTimeoutSeconds} are read at use, so a
+ * {@link Config#reload()} changes them; buffer sizes and the overflow policy are fixed at startup.
+ *
+ * <p>When the buffer is full, {@code log.async.overflow} decides:</p>
+ * <ul>
+ *     <li>{@code BLOCK} (default) – the scenario thread waits for space; nothing is lost</li>
+ *     <li>{@code DROP} – INFO and below are dropped; the file notes how many</li>
+ *     <li>{@code SAMPLE} – above 3/4 full only every {@code log.async.sampleEvery}-th INFO-or-below record is
+ *     kept, and records that still do not fit are dropped</li>
+ * </ul>
+ * WARNING and SEVERE records always wait for space. The buffer size is {@code log.async.queueSize} (rounded up to
+ * a power of two). A publisher waits at most {@code log.async.blockTimeoutSeconds} (default 30) for space, and not
+ * at all once the writer thread has died; records that could not be queued are counted as dropped.
+ */
+final class AsyncLogPipeline {
+
+    private static final Logger logger = Logger.getLogger(AsyncLogPipeline.class.getName());
+
+    enum Overflow { BLOCK, DROP, SAMPLE }
+
+    private static final Overflow OVERFLOW = Overflow.valueOf(
+            Config.get("log.async.overflow", "BLOCK").toUpperCase(Locale.ROOT));
+    private static final int SAMPLE_EVERY = Math.max(1, Config.getInt("log.async.sampleEvery", 10));
+    private static final int BLOCK_CHARS = Math.max(1, Config.getInt("log.runlog.blockKb", 64)) * 1024;
+    private static final int COMPRESSION_LEVEL = Config.getInt("log.runlog.compressionLevel", 1);
+    private static final Duration DEFAULT_FLUSH = Duration.ofSeconds(30);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofSeconds(30);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final Path RUN_LOG_DIR = Paths.get(LogFactory.LOG_DIR);
+    private static final String RUN_ID = "run-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+    private static final RingBuffer QUEUE = new RingBuffer(Config.getInt("log.async.queueSize", 8192));
+    private static final AtomicLong SAMPLE_COUNTER = new AtomicLong();
+    // Writer-thread state
+    private static final TimestampCache TIMESTAMPS = new TimestampCache();
+    private static final Set<Target> PENDING = new HashSet<>();
+    private static RunLog runLog;
+    private static long nextFlushCheck = System.nanoTime();
+    private static final Thread WRITER = startWriter();
+    private static volatile boolean writerIdle;
+
+    /**
+     * Log of one scenario in the run log; its buffer is only touched by the writer thread.
+     */
+    static final class Target {
+        private final String scenarioId;
+        private final AtomicLong dropped = new AtomicLong();
+        private final StringBuilder pending = new StringBuilder();
+        private long pendingSince;
+
+        Target(String scenarioId) {
+            this.scenarioId = scenarioId;
+        }
+    }
+
+    /**
+     * A record for a target, a close request when {@code record} is null, or a flush of everything pending
+     * when {@code target} is null ({@code closeRunLog} then also closes the run log file).
+     */
+    private record Event(Target target, LogRecord record, CountDownLatch done, boolean closeRunLog) {
+    }
+
+    private AsyncLogPipeline() {
+        // utility class
+    }
+
+    /**
+     * Queues a record, applying the overflow policy when the buffer is full.
+     */
+    static void publish(Target target, LogRecord record) {
+        Event event = new Event(target, record, null, false);
+        boolean important = record.getLevel().intValue() >= Level.WARNING.intValue();
+
+        if (!important && OVERFLOW == Overflow.SAMPLE && QUEUE.fill() > 0.75
+                && SAMPLE_COUNTER.incrementAndGet() % SAMPLE_EVERY != 0) {
+            target.dropped.incrementAndGet();
+            return;
+        }
+        if (QUEUE.offer(event)) {
+            wakeWriter();
+            return;
+        }
+        if (!important && OVERFLOW != Overflow.BLOCK) {
+            target.dropped.incrementAndGet();
+            return;
+        }
+        if (!offerBlocking(event, blockTimeoutNanos())) {
+            target.dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Queues closing of a target after all records published before it.
+     */
+    static void close(Target target) {
+        if (!offerBlocking(new Event(target, null, null, false), blockTimeoutNanos())) {
+            logger.warning(() -> "⚠️ Log writer is stuck or gone; scenario log " + target.scenarioId
+                    + " may be incomplete");
+        }
+    }
+
+    /**
+     * Writes out everything queued or collected so far and waits for it.
+     *
+     * @return false if the writer did not finish within the timeout
+     */
+    static boolean drain(long timeout, TimeUnit unit) {
+        return drain(timeout, unit, false);
+    }
+
+    private static boolean drain(long timeout, TimeUnit unit, boolean closeRunLog) {
+        CountDownLatch done = new CountDownLatch(1);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!offerBlocking(new Event(null, null, done, closeRunLog), unit.toNanos(timeout))) {
+            return false;
+        }
+        try {
+            return done.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return file of this run's log
+     */
+    static Path runLogFile() {
+        return RUN_LOG_DIR.resolve(RUN_ID + RunLog.DATA_SUFFIX);
+    }
+
+    /**
+     * @return false if there was no space before the timeout or the writer thread is no longer running
+     */
+    private static boolean offerBlocking(Event event, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (!QUEUE.offer(event)) {
+            if (!WRITER.isAlive() || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(50_000);
+        }
+        wakeWriter();
+        return true;
+    }
+
+    private static long blockTimeoutNanos() {
+        return Math.max(1, Config.getDuration("log.async.blockTimeoutSeconds", DEFAULT_BLOCK_TIMEOUT,
+                ChronoUnit.SECONDS).toNanos());
+    }
+
+    private static void wakeWriter() {
+        if (writerIdle) {
+            LockSupport.unpark(WRITER);
+        }
+    }
+
+    // ==== Writer thread ====
+
+    private static Thread startWriter() {
+        Thread writer = new Thread(AsyncLogPipeline::drainLoop, "scenario-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogPipeline::closeOnShutdown, "scenario-log-flush"));
+        return writer;
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            Event event = QUEUE.poll();
+            if (event == null) {
+                flushAged();
+                writerIdle = true;
+                event = QUEUE.poll();
+                if (event == null) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    writerIdle = false;
+                    continue;
+                }
+                writerIdle = false;
+            }
+            try {
+                handle(event);
+            } catch (RuntimeException | Error e) {
+                // One bad record (a throwing message, an unwritable block) must not stop scenario logging
+                logger.log(Level.WARNING, e, () -> "⚠️ Scenario log writer failed on an event; continuing");
+            } finally {
+                if (event.done() != null) {
+                    event.done().countDown();
+                }
+            }
+            if (System.nanoTime() - nextFlushCheck >= 0) {
+                flushAged();
+            }
+        }
+    }
+
+    // Writes blocks whose oldest line waited flushMillis, so a quiet scenario's log reaches the file while it runs
+    private static void flushAged() {
+        long now = System.nanoTime();
+        if (now - nextFlushCheck < 0) {
+            return;
+        }
+        long flushNanos = Math.max(1, Config.getDuration("log.runlog.flushMillis", DEFAULT_FLUSH).toNanos());
+        nextFlushCheck = now + flushNanos / 4;
+        try {
+            PENDING.removeIf(t -> {
+                if (now - t.pendingSince < flushNanos) {
+                    return false;
+                }
+                writeBlock(t);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not flush pending scenario logs");
+        }
+    }
+
+    private static void closeOnShutdown() {
+        // The writer is a daemon thread; give it a short grace period to write out what is pending and to
+        // force and close the run log
+        drain(2, TimeUnit.SECONDS, true);
+    }
+
+    private static void handle(Event event) {
+        Target target = event.target();
+        if (target == null) {
+            for (Target t : PENDING) {
+                writeBlock(t);
+            }
+            PENDING.clear();
+            if (event.closeRunLog()) {
+                closeRunLog();
+            }
+            return;
+        }
+        if (event.record() == null) {
+            appendDropNote(target);
+            writeBlock(target);
+            PENDING.remove(target);
+            return;
+        }
+        if (target.pending.isEmpty()) {
+            target.pendingSince = System.nanoTime();
+        }
+        appendDropNote(target);
+        target.pending.append(format(event.record()));
+        PENDING.add(target);
+        if (target.pending.length() >= BLOCK_CHARS) {
+            writeBlock(target);
+        }
+    }
+
+    // Records that still arrive afterwards reopen the file in append mode
+    private static void closeRunLog() {
+        if (runLog == null) {
+            return;
+        }
+        try {
+            runLog.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not close run log " + runLogFile());
+        }
+        runLog = null;
+    }
+
+    private static void appendDropNote(Target target) {
+        long dropped = target.dropped.getAndSet(0);
+        if (dropped > 0) {
+            target.pending.append(TIMESTAMPS.format(System.currentTimeMillis())).append(" [WARNING] ")
+                    .append(dropped).append(" log record(s) dropped by back-pressure policy ").append(OVERFLOW)
+                    .append(' ').append(LINE_SEPARATOR);
+        }
+    }
+
+    private static void writeBlock(Target target) {
+        if (target.pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (runLog == null) {
+                runLog = RunLog.open(RUN_LOG_DIR, RUN_ID, COMPRESSION_LEVEL);
+            }
+            runLog.append(target.scenarioId, target.pending.toString());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not write scenario log " + target.scenarioId + " to "
+                    + runLogFile());
+        }
+        target.pending.setLength(0);
+    }
+
+    private static String format(LogRecord lr) {
+        return TIMESTAMPS.format(lr.getMillis()) + " [" + lr.getLevel().getLocalizedName() + "] "
+                + SecretRedactor.redact(lr.getMessage()) + " " + LINE_SEPARATOR;
+    }
+
+    /**
+     * Formats "yyyy-MM-dd HH:mm:ss" once per distinct second; only used by the writer thread.
+     */
+    private static final class TimestampCache {
+        private static final DateTimeFormatter FORMAT =
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+        private long second = Long.MIN_VALUE;
+        private String text;
+
+        String format(long millis) {
+            long s = Math.floorDiv(millis, 1000);
+            if (s != second) {
+                second = s;
+                text = FORMAT.format(Instant.ofEpochMilli(millis));
+            }
+            return text;
+        }
+    }
+
+    /**
+     * Bounded multi-producer/single-consumer ring buffer (sequence-numbered slots, CAS on the producer index).
+     */
+    private static final class RingBuffer {
+        private final Object[] items;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        RingBuffer(int requested) {
+            int capacity = Integer.highestOneBit(Math.max(2, requested - 1)) << 1;
+            items = new Object[capacity];
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            mask = capacity - 1;
+        }
+
+        boolean offer(Event event) {
+            long pos = tail.get();
+            while (true) {
+                int index = (int) (pos & mask);
+                long diff = sequences.get(index) - pos;
+                if (diff == 0) {
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        items[index] = event;
+                        sequences.lazySet(index, pos + 1);
+                        return true;
+                    }
+                    pos = tail.get();
+                } else if (diff < 0) {
+                    return false;
+                } else {
+                    pos = tail.get();
+                }
+            }
+        }
+
+        // Single consumer: only the writer thread calls this
+        Event poll() {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            Event event = (Event) items[index];
+            items[index] = null;
+            sequences.lazySet(index, pos + mask + 1);
+            head.lazySet(pos + 1);
+            return event;
+        }
+
+        double fill() {
+            return (double) (tail.get() - head.get()) / items.length;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cucumber plugin that moves attachments out of the JSON report into a content-addressed store.
+ * When the run finishes, every embedding larger than {@code report.attachments.inlineMaxBytes} is decoded and
+ * written once to {@code attachments/<sha256>.<ext>} next to the report; in the report its base64 {@code data}
+ * is replaced by a relative {@code url} and its {@code size}. Smaller embeddings stay inline.
+ *
+ * <p>Must be listed after the {@code json:} plugin so the report is complete when it runs:</p>
+ * <pre>
+ *   "json:target/cucumber-reports/json/cucumber.json",
+ *   "utils.AttachmentStorePlugin:target/cucumber-reports/json/cucumber.json"
+ * </pre>
+ * The report is rewritten in a single streaming pass; only one embedding is held in memory at a time.
+ */
+public final class AttachmentStorePlugin implements EventListener {
+
+    /** Name of the store directory, relative to the report. */
+    public static final String STORE_DIR = "attachments";
+
+    private static final Logger logger = Logger.getLogger(AttachmentStorePlugin.class.getName());
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path report;
+    private final Path store;
+    private final int inlineMaxBytes = Config.getInt("report.attachments.inlineMaxBytes", 1024);
+    private int externalized;
+    private int deduplicated;
+    private long bytesMoved;
+
+    /**
+     * @param reportPath path of the cucumber JSON report written by the {@code json:} plugin
+     */
+    public AttachmentStorePlugin(String reportPath) {
+        this.report = Paths.get(reportPath);
+        this.store = report.resolveSibling(STORE_DIR);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> externalizeAttachments());
+    }
+
+    private void externalizeAttachments() {
+        if (!Files.exists(report)) {
+            logger.warning(() -> "⚠️ JSON report not found, attachments left inline: " + report);
+            return;
+        }
+        Path tmp = report.resolveSibling(report.getFileName() + ".tmp");
+        JsonFactory factory = MAPPER.getFactory();
+        try {
+            Files.createDirectories(store);
+            try (JsonParser in = factory.createParser(report.toFile());
+                 JsonGenerator out = factory.createGenerator(tmp.toFile(), JsonEncoding.UTF8)) {
+                rewrite(in, out);
+            }
+            Files.move(tmp, report, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info(() -> String.format("📎 Moved %d attachments (%d duplicates, %d KB) to %s",
+                    externalized, deduplicated, bytesMoved / 1024, store));
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, e, () -> "❌ Failed to externalize attachments of " + report);
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // the original report is untouched
+            }
+        }
+    }
+
+    // Copies the report token by token; each "embeddings" array is rewritten one embedding at a time
+    private void rewrite(JsonParser in, JsonGenerator out) throws IOException {
+        JsonToken token;
+        while ((token = in.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && "embeddings".equals(in.currentName())) {
+                out.writeFieldName("embeddings");
+                if (in.nextToken() != JsonToken.START_ARRAY) {
+                    out.copyCurrentStructure(in);
+                    continue;
+                }
+                out.writeStartArray();
+                while (in.nextToken() == JsonToken.START_OBJECT) {
+                    JsonNode embedding = MAPPER.readTree(in);
+                    MAPPER.writeTree(out, embedding instanceof ObjectNode node ? externalize(node) : embedding);
+                }
+                out.writeEndArray();
+            } else {
+                out.copyCurrentEvent(in);
+            }
+        }
+    }
+
+    private ObjectNode externalize(ObjectNode embedding) throws IOException {
+        JsonNode data = embedding.get("data");
+        if (data == null || !data.isTextual() || data.asText().length() / 4 * 3 <= inlineMaxBytes) {
+            return embedding;
+        }
+        byte[] bytes = Base64.getDecoder().decode(data.asText());
+        String fileName = DigestUtils.sha256Hex(bytes) + "." + extension(embedding.path("mime_type").asText());
+        Path file = store.resolve(fileName);
+        if (Files.exists(file)) {
+            deduplicated++;
+        } else {
+            Path tmp = store.resolve(fileName + ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            bytesMoved += bytes.length;
+        }
+        externalized++;
+
+        embedding.remove("data");
+        embedding.put("url", STORE_DIR + "/" + fileName);
+        embedding.put("size", bytes.length);
+        return embedding;
+    }
+
+    private static String extension(String mimeType) {
+        return switch (mimeType) {
+            case "image/png" -> "png";
+            case "image/jpeg" -> "jpg";
+            case "image/gif" -> "gif";
+            case "image/svg+xml" -> "svg";
+            case "application/json" -> "json";
+            case "text/html" -> "html";
+            case "text/plain" -> "txt";
+            case "application/pdf" -> "pdf";
+            default -> "bin";
+        };
+    }
+}
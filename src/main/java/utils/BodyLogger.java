@@ -0,0 +1,144 @@
+package utils;
+
+import io.restassured.response.Response;
+import secrets.SecretRedactor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Level-aware, size-capped logging of request and response bodies.
+ * Nothing is read or formatted unless INFO is enabled and the body is sampled. Bodies up to
+ * {@code log.body.maxBytes} are logged inline (pretty-printed when they are responses); larger ones are
+ * truncated to that cap, or spilled to a side file under {@code logs/} when they exceed
+ * {@code log.body.spillThresholdBytes}. {@code log.body.sampleRate} (0..1) logs only a share of bodies.
+ * Spill files bypass the log pipeline, so their text is passed through {@link SecretRedactor} here.
+ */
+public final class BodyLogger {
+
+    private static final int MAX_BYTES = Config.getInt("log.body.maxBytes", 4096);
+    private static final int SPILL_THRESHOLD = Config.getInt("log.body.spillThresholdBytes", 0);
+    private static final double SAMPLE_RATE = Config.getDouble("log.body.sampleRate", 1.0);
+    private static final Path SPILL_DIR = Paths.get("logs");
+    private static final AtomicLong SPILL_SEQUENCE = new AtomicLong();
+
+    private BodyLogger() {
+        // utility class
+    }
+
+    /**
+     * Logs a response body at INFO.
+     *
+     * @param logger scenario logger (may be null)
+     * @param label  message prefix, e.g. "Response body"
+     * @param response response whose body is logged
+     */
+    public static void log(Logger logger, String label, Response response) {
+        if (!shouldLog(logger)) {
+            return;
+        }
+        // The one read of the body: RestAssured buffers it, so later assertions see the same bytes
+        byte[] body = response.asByteArray();
+        int size = body.length;
+        if (size <= MAX_BYTES) {
+            logger.info(() -> label + ": " + response.getBody().asPrettyString());
+        } else if (SPILL_THRESHOLD > 0 && size > SPILL_THRESHOLD) {
+            try {
+                Path file = spillFile(logger);
+                Files.writeString(file, SecretRedactor.redact(new String(body, StandardCharsets.UTF_8)),
+                        StandardCharsets.UTF_8);
+                logger.info(() -> String.format("%s: %d bytes written to %s", label, size, file.toAbsolutePath()));
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not spill " + label + ": " + e.getMessage());
+            }
+        } else {
+            int end = MAX_BYTES;
+            while (end > 0 && (body[end] & 0xC0) == 0x80) {
+                end--; // do not split a multi-byte character
+            }
+            String text = new String(body, 0, end, StandardCharsets.UTF_8);
+            logger.info(() -> truncated(label, text, size));
+        }
+    }
+
+    /**
+     * Logs a textual body (e.g. a request payload) at INFO.
+     *
+     * @param logger scenario logger (may be null)
+     * @param label  message prefix, e.g. "Request body"
+     * @param body   body text
+     */
+    public static void log(Logger logger, String label, String body) {
+        if (body == null || !shouldLog(logger)) {
+            return;
+        }
+        long size = utf8Length(body);
+        if (size <= MAX_BYTES) {
+            logger.info(() -> label + ": " + body);
+        } else if (SPILL_THRESHOLD > 0 && size > SPILL_THRESHOLD) {
+            try {
+                Path file = spillFile(logger);
+                Files.writeString(file, SecretRedactor.redact(body), StandardCharsets.UTF_8);
+                logger.info(() -> String.format("%s: %d bytes written to %s", label, size, file.toAbsolutePath()));
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not spill " + label + ": " + e.getMessage());
+            }
+        } else {
+            logger.info(() -> truncated(label, body.substring(0, utf8Prefix(body, MAX_BYTES)), size));
+        }
+    }
+
+    private static boolean shouldLog(Logger logger) {
+        if (logger == null || !logger.isLoggable(Level.INFO)) {
+            return false;
+        }
+        return SAMPLE_RATE >= 1.0 || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+    }
+
+    private static String truncated(String label, String head, long size) {
+        return String.format("%s (first %d of %d bytes): %s… [truncated]", label, MAX_BYTES, size, head);
+    }
+
+    // Size of the text once encoded as UTF-8, counted without encoding it
+    private static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i += Character.charCount(text.codePointAt(i))) {
+            bytes += utf8Width(text.codePointAt(i));
+        }
+        return bytes;
+    }
+
+    // Number of chars of the longest prefix whose UTF-8 encoding fits in maxBytes
+    private static int utf8Prefix(String text, int maxBytes) {
+        long bytes = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            bytes += utf8Width(codePoint);
+            if (bytes > maxBytes) {
+                break;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return i;
+    }
+
+    private static int utf8Width(int codePoint) {
+        if (codePoint < 0x80) return 1;
+        if (codePoint < 0x800) return 2;
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static Path spillFile(Logger logger) throws IOException {
+        Files.createDirectories(SPILL_DIR);
+        String safeName = logger.getName().replaceAll("[^a-zA-Z0-9-_]", "_");
+        return SPILL_DIR.resolve(safeName + "-body-" + SPILL_SEQUENCE.incrementAndGet() + ".json");
+    }
+}
@@ -0,0 +1,161 @@
+package utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Browser capabilities read from {@link Config}.
+ * Settings are looked up for the active profile first ({@code ui.profile.<name>.<setting>}) and then as plain
+ * keys, so a CI profile only overrides what differs. The profile is selected with {@code -Dui.profile=<name>}
+ * or the {@code ui.profile} property.
+ *
+ * <table>
+ *     <caption>Settings</caption>
+ *     <tr><td>{@code headless}</td><td>run without a visible window</td></tr>
+ *     <tr><td>{@code ui.pageLoadStrategy}</td><td>{@code normal}, {@code eager} or {@code none}</td></tr>
+ *     <tr><td>{@code ui.windowSize}</td><td>{@code WIDTHxHEIGHT}; blank maximizes (1920x1080 when headless)</td></tr>
+ *     <tr><td>{@code ui.blockImages}, {@code ui.blockFonts}</td><td>skip downloading images / web fonts</td></tr>
+ *     <tr><td>{@code ui.disableGpu}, {@code ui.disableExtensions}</td><td>lighter browser processes</td></tr>
+ * </table>
+ */
+public record BrowserProfile(
+        String name,
+        boolean headless,
+        PageLoadStrategy pageLoadStrategy,
+        Dimension windowSize,
+        boolean blockImages,
+        boolean blockFonts,
+        boolean disableGpu,
+        boolean disableExtensions
+) {
+
+    private static final Dimension HEADLESS_DEFAULT_SIZE = new Dimension(1920, 1080);
+    private static final List<String> FONT_URL_PATTERNS = List.of("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot");
+
+    private static final BrowserProfile ACTIVE = fromConfig(
+            System.getProperty("ui.profile", Config.get("ui.profile", "default")));
+
+    /**
+     * @return the profile selected for this run
+     */
+    public static BrowserProfile active() {
+        return ACTIVE;
+    }
+
+    /**
+     * Reads a named profile, falling back to the plain keys for settings it does not override.
+     *
+     * @param name profile name
+     * @return profile
+     */
+    public static BrowserProfile fromConfig(String name) {
+        return new BrowserProfile(
+                name,
+                Boolean.parseBoolean(setting(name, "headless", "false")),
+                parseStrategy(setting(name, "ui.pageLoadStrategy", "normal")),
+                parseSize(setting(name, "ui.windowSize", "")),
+                Boolean.parseBoolean(setting(name, "ui.blockImages", "false")),
+                Boolean.parseBoolean(setting(name, "ui.blockFonts", "false")),
+                Boolean.parseBoolean(setting(name, "ui.disableGpu", "false")),
+                Boolean.parseBoolean(setting(name, "ui.disableExtensions", "false"))
+        );
+    }
+
+    /**
+     * Starts a browser with this profile's capabilities.
+     *
+     * @param browser chrome, firefox or edge (lower case)
+     * @return configured driver
+     */
+    public WebDriver createDriver(String browser) {
+        WebDriver driver = switch (browser) {
+            case "chrome" -> new ChromeDriver(chromium(new ChromeOptions()));
+            case "edge" -> new EdgeDriver(chromium(new EdgeOptions()));
+            case "firefox" -> new FirefoxDriver(firefox());
+            default -> throw new IllegalArgumentException("Unsupported browser: " + browser);
+        };
+        if (blockFonts && driver instanceof ChromiumDriver chromium) {
+            chromium.executeCdpCommand("Network.enable", Map.of());
+            chromium.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", FONT_URL_PATTERNS));
+        }
+        Dimension size = effectiveWindowSize();
+        if (size != null) {
+            driver.manage().window().setSize(size);
+        } else {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+
+    private <T extends ChromiumOptions<?>> T chromium(T options) {
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (headless) options.addArguments("--headless=new");
+        Dimension size = effectiveWindowSize();
+        if (size != null) options.addArguments("--window-size=" + size.getWidth() + "," + size.getHeight());
+        if (disableGpu) options.addArguments("--disable-gpu");
+        if (disableExtensions) options.addArguments("--disable-extensions");
+        if (blockImages) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        return options;
+    }
+
+    private FirefoxOptions firefox() {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (headless) options.addArguments("-headless");
+        Dimension size = effectiveWindowSize();
+        if (size != null) {
+            options.addArguments("--width=" + size.getWidth(), "--height=" + size.getHeight());
+        }
+        if (disableGpu) options.addPreference("layers.acceleration.disabled", true);
+        if (blockImages) options.addPreference("permissions.default.image", 2);
+        if (blockFonts) options.addPreference("gfx.downloadable_fonts.enabled", false);
+        // Firefox starts without extensions in a fresh WebDriver profile; nothing to disable
+        return options;
+    }
+
+    private Dimension effectiveWindowSize() {
+        if (windowSize != null) return windowSize;
+        return headless ? HEADLESS_DEFAULT_SIZE : null;
+    }
+
+    private static String setting(String profile, String key, String defaultValue) {
+        return Config.get("ui.profile." + profile + "." + key, Config.get(key, defaultValue));
+    }
+
+    private static PageLoadStrategy parseStrategy(String value) {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value.toLowerCase(Locale.ROOT));
+        if (strategy == null) {
+            throw new IllegalArgumentException("ui.pageLoadStrategy must be normal, eager or none, was: " + value);
+        }
+        return strategy;
+    }
+
+    private static Dimension parseSize(String value) {
+        if (value.isBlank()) {
+            return null;
+        }
+        String[] parts = value.toLowerCase(Locale.ROOT).split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("ui.windowSize must be WIDTHxHEIGHT, was: " + value);
+        }
+        return new Dimension(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+}
@@ -0,0 +1,296 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Generates many rows of test data from {@link TokenTemplate} patterns, e.g. 50,000 users for a
+ * {@code create_user.json} load run.
+ *
+ * <p>Rows are produced in fixed-size chunks across the common fork-join pool. Every chunk draws from its own
+ * generator seeded from the run seed and the chunk index, so the same seed always yields the same rows
+ * regardless of thread scheduling. Without an explicit seed a random one is chosen and logged, so any
+ * run can be reproduced. Columns marked unique are de-duplicated in row order; a colliding value is
+ * regenerated from a generator seeded by the row index, which keeps seeded runs deterministic.</p>
+ *
+ * <pre>
+ * SequencedMap&lt;String, String&gt; columns = new LinkedHashMap&lt;&gt;();
+ * columns.put("name", "firstname");
+ * columns.put("email", "email");
+ * columns.put("id", "number:8");
+ * ValueResolver.bulk(columns)
+ *         .seed(42).unique("email", "id")
+ *         .writeCsv(Path.of("target/users.csv"), 50_000);
+ * </pre>
+ * Columns are taken in the map's encounter order, which also decides how each column draws from the seed; an
+ * unordered map such as {@code Map.of(...)} would make both the column order and seeded output vary between
+ * JVM runs, hence the {@link SequencedMap} parameter.
+ */
+public final class BulkDataGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(BulkDataGenerator.class.getName());
+    private static final int CHUNK_SIZE = 1024;
+    private static final int MAX_UNIQUE_ATTEMPTS = 100;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+    /** Per-thread generator that is re-seeded for every chunk; its Faker draws from the same Random. */
+    private static final ThreadLocal<SeededSource> SOURCES = ThreadLocal.withInitial(SeededSource::new);
+
+    private final String[] columns;
+    private final TokenTemplate[] templates;
+    private final boolean[] unique;
+    private Long seed;
+
+    /**
+     * @param columns column name to generator pattern (e.g. {@code email}, {@code user_+number:4}), in column
+     *                order; {@code ${...}} wrappers are accepted, context and vault tokens are not
+     */
+    public BulkDataGenerator(SequencedMap<String, String> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        this.columns = columns.keySet().toArray(String[]::new);
+        this.templates = new TokenTemplate[this.columns.length];
+        this.unique = new boolean[this.columns.length];
+        for (int i = 0; i < this.columns.length; i++) {
+            templates[i] = TokenTemplate.of(patternOf(columns.get(this.columns[i])));
+        }
+    }
+
+    /**
+     * Fixes the seed so the generated rows are reproducible.
+     */
+    public BulkDataGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Requires the named columns to hold distinct values across all generated rows.
+     */
+    public BulkDataGenerator unique(String... columnNames) {
+        for (String name : columnNames) {
+            unique[indexOf(name)] = true;
+        }
+        return this;
+    }
+
+    /**
+     * Generates rows and hands them to {@code sink} one at a time, in row order.
+     *
+     * @param count number of rows
+     * @param sink  receives each row (column name to value, in column order)
+     */
+    public void forEachRow(int count, Consumer<Map<String, String>> sink) {
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        if (seed == null) {
+            LOGGER.info(() -> "🎲 Bulk data seed: " + runSeed + " (use seed(" + runSeed + "L) to reproduce)");
+        }
+
+        List<Set<String>> seen = new ArrayList<>(columns.length);
+        for (boolean u : unique) {
+            seen.add(u ? new HashSet<>(count * 2) : null);
+        }
+        int[] rowIndex = {0};
+        SeededSource retrySource = new SeededSource();
+
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> generateChunk(runSeed, chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .forEachOrdered(rows -> {
+                    for (String[] row : rows) {
+                        makeUnique(row, seen, retrySource, runSeed, rowIndex[0]++);
+                        sink.accept(toMap(row));
+                    }
+                });
+    }
+
+    /**
+     * Generates rows into memory; prefer {@link #writeCsv} / {@link #writeJsonl} for large counts.
+     */
+    public List<Map<String, String>> generate(int count) {
+        List<Map<String, String>> rows = new ArrayList<>(count);
+        forEachRow(count, rows::add);
+        return rows;
+    }
+
+    /**
+     * Streams rows to a CSV file with a header line; values are quoted when needed.
+     */
+    public void writeCsv(Path file, int count) {
+        write(file, count, out -> {
+            out.write(csvLine(List.of(columns)));
+            forEachRow(count, row -> writeLine(out, csvLine(row.values())));
+        });
+    }
+
+    /**
+     * Streams rows to a JSON Lines file, one object per line.
+     */
+    public void writeJsonl(Path file, int count) {
+        write(file, count, out -> forEachRow(count, row -> {
+            try {
+                MAPPER.writeValue(out, row);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private List<String[]> generateChunk(long runSeed, int chunk, int size) {
+        SeededSource source = SOURCES.get();
+        source.reseed(mix(runSeed + GOLDEN_GAMMA * (chunk + 1)));
+        List<String[]> rows = new ArrayList<>(size);
+        for (int r = 0; r < size; r++) {
+            String[] row = new String[columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                row[c] = templates[c].generate(source);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private void makeUnique(String[] row, List<Set<String>> seen, SeededSource retrySource, long runSeed, int rowIndex) {
+        boolean reseeded = false;
+        for (int c = 0; c < columns.length; c++) {
+            Set<String> values = seen.get(c);
+            if (values == null) {
+                continue;
+            }
+            int attempts = 0;
+            while (!values.add(row[c])) {
+                if (++attempts > MAX_UNIQUE_ATTEMPTS) {
+                    throw new IllegalStateException(String.format(
+                            "Could not generate a unique value for column '%s' (pattern '%s') after %d attempts at row %d",
+                            columns[c], templates[c].pattern(), MAX_UNIQUE_ATTEMPTS, rowIndex));
+                }
+                if (!reseeded) {
+                    retrySource.reseed(mix(runSeed ^ mix(rowIndex)));
+                    reseeded = true;
+                }
+                row[c] = templates[c].generate(retrySource);
+            }
+        }
+    }
+
+    private Map<String, String> toMap(String[] row) {
+        Map<String, String> map = new LinkedHashMap<>(columns.length * 2);
+        for (int c = 0; c < columns.length; c++) {
+            map.put(columns[c], row[c]);
+        }
+        return map;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(name)) return i;
+        }
+        throw new IllegalArgumentException("Unknown column: " + name);
+    }
+
+    private static String patternOf(String raw) {
+        String p = raw.trim();
+        if (p.startsWith("${") && p.endsWith("}")) {
+            p = p.substring(2, p.length() - 1);
+        }
+        if (p.startsWith("context:") || p.startsWith("vault:") || p.contains("=")) {
+            throw new IllegalArgumentException("Only generator patterns are supported for bulk data: " + raw);
+        }
+        return p;
+    }
+
+    private static String csvLine(Iterable<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (String v : values) {
+            if (!sb.isEmpty()) sb.append(',');
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                sb.append('"').append(v.replace("\"", "\"\"")).append('"');
+            } else {
+                sb.append(v);
+            }
+        }
+        return sb.append('\n').toString();
+    }
+
+    private static void writeLine(Writer out, String line) {
+        try {
+            out.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface WriterAction {
+        void run(Writer out) throws IOException;
+    }
+
+    private static void write(Path file, int count, WriterAction action) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                action.run(out);
+            }
+            LOGGER.info(() -> "📝 Wrote " + count + " rows to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bulk data to " + file, e);
+        }
+    }
+
+    // SplitMix64 finaliser: spreads consecutive seeds across the whole long range
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class SeededSource implements RandomSource {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(random);
+
+        private void reseed(long seed) {
+            random.setSeed(seed);
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+
+        @Override
+        public Faker faker() {
+            return faker;
+        }
+    }
+}
@@ -1,29 +1,77 @@
 package utils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Utility to load environment-specific configuration properties.
- * Properties are loaded once during class initialization.
+ * Layered, environment-specific configuration.
+ * Values are merged from, lowest precedence first:
+ * <ol>
+ *     <li>{@code config/defaults.properties} (optional)</li>
+ *     <li>the env file {@code config/env/<env>.properties}, where {@code env} comes from {@code -Denv} (default
+ *     {@code sit}), or the file given by {@code -Dconfig.file}</li>
+ *     <li>system properties</li>
+ *     <li>environment variables named {@code QA_} + the key upper-cased with non-alphanumerics as {@code _}
+ *     (e.g. {@code QA_UI_TIMEOUT} for {@code ui.timeout})</li>
+ * </ol>
+ * Files are read from the classpath, falling back to {@code src/test/resources}, so the suite also runs from a
+ * packaged jar. The merged values form an immutable snapshot; typed lookups are parsed once per snapshot and
+ * cached. With {@code config.watch=true} a file-based env file is watched and the snapshot is swapped when it
+ * changes (point {@code -Dconfig.file} at the source file for soak runs, since the classpath copy is what is
+ * watched otherwise); constants captured in static fields keep their startup value, values read through this
+ * class at call time see the update.
  */
 public final class Config {
 
-    private static final Properties props = new Properties();
     private static final Logger logger = Logger.getLogger(Config.class.getName());
 
+    private static final String DEFAULTS_RESOURCE = "config/defaults.properties";
+    private static final Path SOURCE_ROOT = Paths.get("src/test/resources");
+    private static final String ENV_VAR_PREFIX = "QA_";
+
+    private static final Set<String> WARNED = ConcurrentHashMap.newKeySet();
+    private static volatile Snapshot snapshot;
+    private static Path watchedFile;
+
+    /** Immutable merged view plus its cache of parsed values. */
+    private record Snapshot(Map<String, String> values, ConcurrentMap<String, Object> typed) {
+        Snapshot(Map<String, String> values) {
+            this(Collections.unmodifiableMap(values), new ConcurrentHashMap<>());
+        }
+    }
+
     static {
-        String env = System.getProperty("env", "sit");
-        String path = "src/test/resources/config/env/" + env + ".properties";
-        try (FileInputStream fis = new FileInputStream(path)) {
-            props.load(fis);
-            logger.log(Level.INFO, "✅ Loaded environment config: {0}", path);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "❌ Failed to load env config: {0}", path);
-            throw new IllegalStateException("Failed to load env config: " + path, e);
+        snapshot = new Snapshot(loadLayers());
+        if (Boolean.parseBoolean(raw("config.watch")) && watchedFile != null) {
+            startWatcher(watchedFile);
         }
     }
 
@@ -35,14 +83,290 @@ public final class Config {
      * Retrieves a property value by key.
      *
      * @param key property key
-     * @return property value or null if missing
+     * @return property value or null if missing (a warning is logged once per key)
      */
     public static String get(String key) {
-        String value = props.getProperty(key);
-        if (value == null) {
+        String value = raw(key);
+        if (value == null && WARNED.add(key)) {
             logger.warning(() -> "⚠️ Missing property: " + key);
         }
         return value;
     }
 
+    /**
+     * Retrieves a property value, falling back to a default without a warning when it is missing or blank.
+     *
+     * @param key          property key
+     * @param defaultValue value used when the property is absent or blank
+     * @return property value or defaultValue
+     */
+    public static String get(String key, String defaultValue) {
+        String value = raw(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Retrieves a boolean property ({@code true}/{@code false}, case-insensitive), falling back to a default.
+     *
+     * @param key          property key
+     * @param defaultValue value used when the property is absent or blank
+     * @return parsed property value or defaultValue
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = typed("bool:", key, Boolean::parseBoolean);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieves an integer property, falling back to a default when missing or malformed.
+     *
+     * @param key          property key
+     * @param defaultValue value used when the property is absent or not an integer
+     * @return parsed property value or defaultValue
+     */
+    public static int getInt(String key, int defaultValue) {
+        Integer value = typed("int:", key, Integer::parseInt);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieves a decimal property, falling back to a default when missing or malformed.
+     *
+     * @param key          property key
+     * @param defaultValue value used when the property is absent or not a number
+     * @return parsed property value or defaultValue
+     */
+    public static double getDouble(String key, double defaultValue) {
+        Double value = typed("double:", key, Double::parseDouble);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieves a duration property: {@code 250ms}, {@code 10s}, {@code 5m}, {@code 1h}, ISO-8601
+     * ({@code PT10S}) or a plain number of milliseconds.
+     *
+     * @param key          property key
+     * @param defaultValue value used when the property is absent or malformed
+     * @return parsed property value or defaultValue
+     */
+    public static Duration getDuration(String key, Duration defaultValue) {
+        return getDuration(key, defaultValue, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * Retrieves a duration property whose plain numbers are in {@code plainUnit}, so existing keys such as
+     * {@code ui.timeout=10} (seconds) keep their meaning while {@code 1500ms} or {@code PT2M} also work.
+     *
+     * @param key          property key
+     * @param defaultValue value used when the property is absent or malformed
+     * @param plainUnit    unit of a value without suffix
+     * @return parsed property value or defaultValue
+     */
+    public static Duration getDuration(String key, Duration defaultValue, ChronoUnit plainUnit) {
+        Duration value = typed("duration:" + plainUnit + ":", key, v -> parseDuration(v, plainUnit));
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Loads a properties resource from the classpath, falling back to {@code src/test/resources/<resource>}.
+     *
+     * @param resource classpath resource, e.g. {@code config/locators.properties}
+     * @return loaded properties
+     * @throws IllegalStateException if the resource is found nowhere or cannot be read
+     */
+    public static Properties loadResource(String resource) {
+        Properties props = loadOptional(resource);
+        if (props == null) {
+            throw new IllegalStateException("Resource not found on classpath or in " + SOURCE_ROOT + ": " + resource);
+        }
+        return props;
+    }
+
+    /**
+     * Re-reads all layers and swaps in a new snapshot.
+     */
+    public static void reload() {
+        snapshot = new Snapshot(loadLayers());
+        WARNED.clear();
+        logger.info(() -> "🔄 Configuration reloaded");
+    }
+
+    // ==== Layers ====
+
+    private static Map<String, String> loadLayers() {
+        Map<String, String> merged = new HashMap<>();
+
+        Properties defaults = loadOptional(DEFAULTS_RESOURCE);
+        if (defaults != null) {
+            putAll(merged, defaults);
+        }
+        putAll(merged, loadEnvFile());
+        putAll(merged, System.getProperties());
+        merged.replaceAll((key, value) -> {
+            String fromEnv = System.getenv(envVarName(key));
+            return fromEnv != null ? fromEnv : value;
+        });
+        return merged;
+    }
+
+    private static Properties loadEnvFile() {
+        String explicit = System.getProperty("config.file");
+        if (explicit != null && !explicit.isBlank()) {
+            Path file = Paths.get(explicit);
+            watchedFile = file;
+            return readFile(file);
+        }
+
+        String env = System.getProperty("env", "sit");
+        String resource = "config/env/" + env + ".properties";
+        Properties props = loadOptional(resource);
+        if (props == null) {
+            logger.log(Level.SEVERE, "❌ Failed to load env config: {0}", resource);
+            throw new IllegalStateException("Failed to load env config: " + resource);
+        }
+        logger.log(Level.INFO, "✅ Loaded environment config: {0}", resource);
+        return props;
+    }
+
+    // Classpath first (jar or directory), then the source tree; remembers a watchable file for the env file
+    private static Properties loadOptional(String resource) {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
+        if (url == null) {
+            url = Config.class.getClassLoader().getResource(resource);
+        }
+        if (url != null) {
+            try (InputStream in = url.openStream()) {
+                Properties props = new Properties();
+                props.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+                if ("file".equals(url.getProtocol()) && resource.startsWith("config/env/")) {
+                    watchedFile = Paths.get(url.toURI());
+                }
+                return props;
+            } catch (IOException | URISyntaxException e) {
+                throw new IllegalStateException("Failed to read " + url, e);
+            }
+        }
+        Path file = SOURCE_ROOT.resolve(resource);
+        if (Files.isRegularFile(file)) {
+            if (resource.startsWith("config/env/")) {
+                watchedFile = file;
+            }
+            return readFile(file);
+        }
+        return null;
+    }
+
+    private static Properties readFile(Path file) {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load config file: " + file, e);
+        }
+        return props;
+    }
+
+    private static void putAll(Map<String, String> target, Properties source) {
+        for (String name : source.stringPropertyNames()) {
+            target.put(name, source.getProperty(name));
+        }
+    }
+
+    // ==== Lookups ====
+
+    private static String raw(String key) {
+        String value = snapshot.values().get(key);
+        return value != null ? value : System.getenv(envVarName(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T typed(String type, String key, Function<String, T> parser) {
+        Snapshot current = snapshot;
+        Object cached = current.typed().get(type + key);
+        if (cached != null) {
+            return cached == Invalid.INSTANCE ? null : (T) cached;
+        }
+        String value = raw(key);
+        if (value == null || value.isBlank()) {
+            current.typed().put(type + key, Invalid.INSTANCE);
+            return null;
+        }
+        Object parsed;
+        try {
+            parsed = parser.apply(value.trim());
+        } catch (RuntimeException e) {
+            logger.warning(() -> "⚠️ Invalid " + type.substring(0, type.indexOf(':')) + " for property " + key + ": " + value);
+            parsed = Invalid.INSTANCE;
+        }
+        current.typed().put(type + key, parsed);
+        return parsed == Invalid.INSTANCE ? null : (T) parsed;
+    }
+
+    /** Cached marker for keys that are missing or do not parse, so they fall back to the default directly. */
+    private enum Invalid { INSTANCE }
+
+    private static Duration parseDuration(String value, ChronoUnit plainUnit) {
+        String v = value.toLowerCase(Locale.ROOT);
+        if (v.startsWith("p")) {
+            try {
+                return Duration.parse(value.toUpperCase(Locale.ROOT));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2).trim()));
+        if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1).trim()));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1).trim()));
+        if (v.endsWith("h")) return Duration.ofHours(Long.parseLong(v.substring(0, v.length() - 1).trim()));
+        return Duration.of(Long.parseLong(v), plainUnit);
+    }
+
+    static String envVarName(String key) {
+        return ENV_VAR_PREFIX + key.replaceAll("[^A-Za-z0-9]", "_").toUpperCase(Locale.ROOT);
+    }
+
+    // ==== Hot reload ====
+
+    private static void startWatcher(Path file) {
+        Path absolute = file.toAbsolutePath();
+        Thread watcher = new Thread(() -> watch(absolute), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info(() -> "👀 Watching " + absolute + " for configuration changes");
+    }
+
+    private static void watch(Path file) {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            file.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    reloadQuietly();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Configuration watcher stopped");
+        }
+    }
+
+    private static void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // A half-written file is picked up by the next modify event
+            logger.log(Level.WARNING, e, () -> "⚠️ Configuration reload failed; keeping previous values");
+        }
+    }
 }
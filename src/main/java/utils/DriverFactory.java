@@ -1,9 +1,8 @@
 package utils;
 
+import metrics.DriverCommandCounter;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import com.qa.bdd.steps.Hooks;
 
 import java.util.Locale;
@@ -11,35 +10,55 @@ import java.util.logging.Logger;
 
 /**
  * Thread-safe WebDriver factory using ThreadLocal.
- * Supports Chrome, Firefox, and Edge.
+ * Supports Chrome, Firefox, and Edge; sessions can be pooled across scenarios (see {@link DriverPool}).
  */
 public final class DriverFactory {
 
     private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
-    private static final Logger logger = Hooks.getLogger();
+    private static final Logger FALLBACK_LOGGER = Logger.getLogger(DriverFactory.class.getName());
+    private static final boolean POOLING = Config.getBoolean("ui.pool.enabled", false);
 
     private DriverFactory() {
         // prevent instantiation
     }
 
+    // Resolved per call so that each scenario thread logs to its own scenario logger
+    private static Logger logger() {
+        Logger scenarioLogger = Hooks.getLogger();
+        return scenarioLogger != null ? scenarioLogger : FALLBACK_LOGGER;
+    }
+
     /**
-     * Initializes a WebDriver for the given browser type and maximizes the window.
+     * Initializes a WebDriver for the given browser type.
+     * With {@code ui.pool.enabled=true} the driver is leased from {@link DriverPool} and may be a reused session;
+     * otherwise a new browser is started. Capabilities come from the active {@link BrowserProfile}.
      *
      * @param browser browser type (chrome, firefox, edge)
      */
     public static void initDriver(String browser) {
         String normalized = browser.toLowerCase(Locale.ROOT);
-        logger.info(() -> "Launching browser: " + normalized);
+        logger().info(() -> "Launching browser: " + normalized);
 
-        switch (normalized) {
-            case "chrome" -> DRIVER.set(new ChromeDriver());
-            case "firefox" -> DRIVER.set(new FirefoxDriver());
-            case "edge" -> DRIVER.set(new EdgeDriver());
-            default -> throw new IllegalArgumentException("Unsupported browser: " + browser);
+        if (DRIVER.get() != null) {
+            releaseDriver();
         }
 
-        DRIVER.get().manage().window().maximize();
-        logger.info(() -> "Browser launched and maximized successfully.");
+        BrowserProfile profile = BrowserProfile.active();
+        if (POOLING) {
+            DRIVER.set(DriverPool.lease(normalized + "/" + profile.name(), () -> createDriver(profile, normalized)));
+            logger().info(() -> "Browser leased from pool successfully.");
+        } else {
+            DRIVER.set(createDriver(profile, normalized));
+            logger().info(() -> "Browser launched successfully with profile: " + profile.name());
+        }
+    }
+
+    // Decorated so commands are counted per scenario, page changes invalidate cached reference elements and the
+    // pool knows which origins to clear
+    private static WebDriver createDriver(BrowserProfile profile, String browser) {
+        return new EventFiringDecorator<WebDriver>(DriverCommandCounter.listener(), ReferenceElementCache.listener(),
+                DriverPool.listener())
+                .decorate(profile.createDriver(browser));
     }
 
     /**
@@ -51,15 +70,37 @@ public final class DriverFactory {
         return DRIVER.get();
     }
 
+    /**
+     * Hands the current thread's WebDriver back to the pool (or quits it when pooling is disabled)
+     * and removes it from ThreadLocal.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver != null) {
+            DRIVER.remove();
+            if (POOLING) {
+                DriverPool.release(driver);
+                logger().info(() -> "Browser returned to pool.");
+            } else {
+                driver.quit();
+                logger().info(() -> "Browser closed successfully.");
+            }
+        }
+    }
+
     /**
      * Quits the WebDriver for the current thread and removes it from ThreadLocal.
      */
     public static void quitDriver() {
         WebDriver driver = DRIVER.get();
         if (driver != null) {
-            driver.quit();
-            logger.info(() -> "Browser closed successfully.");
             DRIVER.remove();
+            if (POOLING) {
+                DriverPool.discard(driver);
+            } else {
+                driver.quit();
+            }
+            logger().info(() -> "Browser closed successfully.");
         }
     }
 }
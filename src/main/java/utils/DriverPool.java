@@ -0,0 +1,401 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of browser sessions shared across scenarios.
+ * Drivers are keyed by browser and capability profile; a scenario thread leases one, and on release it is
+ * reset (extra windows closed, cookies and storage cleared, {@code about:blank}) and parked for the next
+ * scenario with the same key. A parked driver is health-checked before it is handed out again; crashed
+ * sessions and drivers that reached {@code ui.pool.maxReuse} leases are quit instead of reused.
+ *
+ * <p>At most {@code ui.pool.maxSize} sessions are alive at once. When the limit is reached an idle driver of
+ * another key is evicted, otherwise the caller waits up to {@code ui.pool.leaseTimeoutSeconds}.</p>
+ *
+ * <p>The reset has to clear every origin the scenario touched, not just the page it ended on. Origins opened
+ * through {@code get} or {@code navigate().to} are recorded by {@link #listener()}. On Chromium they are wiped
+ * over CDP ({@code Network.clearBrowserCookies}, {@code Storage.clearDataForOrigin}); other browsers can only
+ * clear the current origin, so their sessions are retired rather than reused once a second origin was
+ * visited.</p>
+ */
+public final class DriverPool {
+
+    private static final Logger logger = Logger.getLogger(DriverPool.class.getName());
+
+    private static final int MAX_SIZE = Math.max(1, Config.getInt("ui.pool.maxSize", 4));
+    private static final int MAX_REUSE = Config.getInt("ui.pool.maxReuse", 50);
+    private static final Duration DEFAULT_LEASE_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final Condition AVAILABLE = LOCK.newCondition();
+    private static final Map<String, Deque<PooledDriver>> IDLE = new HashMap<>();
+    private static final ConcurrentMap<WebDriver, PooledDriver> LEASED = new ConcurrentHashMap<>();
+    private static int live;
+    /** Incremented by {@link #shutdown()}; drivers leased in an earlier generation are quit on release. */
+    private static volatile int generation;
+
+    /** Origins navigated to by the current thread's leased driver. */
+    private static final ThreadLocal<Set<String>> VISITED = ThreadLocal.withInitial(HashSet::new);
+
+    private static final WebDriverListener ORIGIN_TRACKER = new WebDriverListener() {
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            visited(url);
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, String url) {
+            visited(url);
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, URL url) {
+            visited(url.toString());
+        }
+    };
+
+    private static final LongAdder LEASES = new LongAdder();
+    private static final LongAdder REUSES = new LongAdder();
+    private static final LongAdder CREATIONS = new LongAdder();
+    private static final LongAdder WAITS = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    private static final class PooledDriver {
+        private final String key;
+        private final WebDriver driver;
+        private final int generation;
+        private int uses;
+
+        private PooledDriver(String key, WebDriver driver, int generation) {
+            this.key = key;
+            this.driver = driver;
+            this.generation = generation;
+        }
+    }
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+        // utility class
+    }
+
+    /**
+     * @return listener to register on pooled drivers' event-firing decorator, recording the origins they visit
+     */
+    public static WebDriverListener listener() {
+        return ORIGIN_TRACKER;
+    }
+
+    /**
+     * Leases a driver for the given key, reusing an idle healthy one or creating a new one.
+     *
+     * @param key     browser and capability profile, e.g. {@code chrome/headless}
+     * @param factory creates a new driver for this key
+     * @return leased driver; hand it back with {@link #release(WebDriver)}
+     * @throws IllegalStateException if no driver becomes available within the lease timeout
+     */
+    public static WebDriver lease(String key, Supplier<WebDriver> factory) {
+        Duration leaseTimeout = Config.getDuration("ui.pool.leaseTimeoutSeconds", DEFAULT_LEASE_TIMEOUT,
+                ChronoUnit.SECONDS);
+        long deadline = System.nanoTime() + leaseTimeout.toNanos();
+        boolean waited = false;
+        while (true) {
+            PooledDriver idle;
+            PooledDriver evicted = null;
+            boolean create = false;
+
+            LOCK.lock();
+            try {
+                idle = idleQueue(key).pollFirst();
+                if (idle == null) {
+                    if (live < MAX_SIZE) {
+                        live++;
+                        create = true;
+                    } else {
+                        evicted = pollIdleOfOtherKey(key);
+                        if (evicted == null) {
+                            if (!waited) {
+                                WAITS.increment();
+                                waited = true;
+                            }
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                throw new IllegalStateException(String.format(
+                                        "No browser available for '%s' within %ds (pool size %d)",
+                                        key, leaseTimeout.toSeconds(), MAX_SIZE));
+                            }
+                            AVAILABLE.awaitNanos(remaining);
+                            continue;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser", e);
+            } finally {
+                LOCK.unlock();
+            }
+
+            if (evicted != null) {
+                destroy(evicted, "idle driver evicted to make room for " + key);
+                continue;
+            }
+            if (create) {
+                return leaseNew(key, factory);
+            }
+            if (isHealthy(idle)) {
+                VISITED.get().clear();
+                idle.uses++;
+                LEASED.put(idle.driver, idle);
+                LEASES.increment();
+                REUSES.increment();
+                return idle.driver;
+            }
+            destroy(idle, "health check failed");
+        }
+    }
+
+    /**
+     * Returns a leased driver to the pool, resetting it for the next scenario; drivers that cannot be reset
+     * or reached the reuse limit are quit. Drivers not leased from the pool are quit.
+     *
+     * @param driver driver to release
+     */
+    public static void release(WebDriver driver) {
+        Set<String> origins = new HashSet<>(VISITED.get());
+        VISITED.get().clear();
+        PooledDriver pooled = LEASED.remove(driver);
+        if (pooled == null) {
+            quitQuietly(driver);
+            return;
+        }
+        if (pooled.generation != generation) {
+            destroy(pooled, "pool was shut down");
+            return;
+        }
+        if (MAX_REUSE > 0 && pooled.uses >= MAX_REUSE) {
+            destroy(pooled, "reached max reuse of " + MAX_REUSE);
+            return;
+        }
+        if (!reset(pooled.driver, origins)) {
+            destroy(pooled, "reset failed");
+            return;
+        }
+        boolean parked = false;
+        LOCK.lock();
+        try {
+            if (pooled.generation == generation) {
+                idleQueue(pooled.key).addFirst(pooled);
+                AVAILABLE.signalAll();
+                parked = true;
+            }
+        } finally {
+            LOCK.unlock();
+        }
+        if (!parked) {
+            destroy(pooled, "pool was shut down");
+        }
+    }
+
+    /**
+     * Quits a leased driver instead of returning it (e.g. after the session crashed).
+     *
+     * @param driver driver to discard
+     */
+    public static void discard(WebDriver driver) {
+        PooledDriver pooled = LEASED.remove(driver);
+        if (pooled == null) {
+            quitQuietly(driver);
+        } else {
+            destroy(pooled, "discarded by caller");
+        }
+    }
+
+    /**
+     * Quits all idle drivers. Drivers leased at this point are quit when they are released; later leases start
+     * new sessions, so a runner that follows in the same JVM is pooled as usual.
+     */
+    public static void shutdown() {
+        LOCK.lock();
+        try {
+            generation++;
+            IDLE.values().forEach(queue -> {
+                queue.forEach(p -> quitQuietly(p.driver));
+                live -= queue.size();
+                queue.clear();
+            });
+            AVAILABLE.signalAll();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * @return pool counters: leases, reuses, creations, waits, evictions and live sessions
+     */
+    public static Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("leases", LEASES.sum());
+        stats.put("reuses", REUSES.sum());
+        stats.put("creations", CREATIONS.sum());
+        stats.put("waits", WAITS.sum());
+        stats.put("evictions", EVICTIONS.sum());
+        LOCK.lock();
+        try {
+            stats.put("live", (long) live);
+        } finally {
+            LOCK.unlock();
+        }
+        return stats;
+    }
+
+    private static WebDriver leaseNew(String key, Supplier<WebDriver> factory) {
+        WebDriver driver;
+        try {
+            driver = factory.get();
+        } catch (RuntimeException e) {
+            freeSlot();
+            throw e;
+        }
+        PooledDriver pooled = new PooledDriver(key, driver, generation);
+        pooled.uses = 1;
+        VISITED.get().clear();
+        LEASED.put(driver, pooled);
+        CREATIONS.increment();
+        LEASES.increment();
+        logger.info(() -> "🆕 Created browser session for " + key);
+        return driver;
+    }
+
+    private static Deque<PooledDriver> idleQueue(String key) {
+        return IDLE.computeIfAbsent(key, k -> new ArrayDeque<>());
+    }
+
+    // Oldest idle driver of a different key; caller holds the lock
+    private static PooledDriver pollIdleOfOtherKey(String key) {
+        for (Map.Entry<String, Deque<PooledDriver>> e : IDLE.entrySet()) {
+            if (!e.getKey().equals(key) && !e.getValue().isEmpty()) {
+                return e.getValue().pollLast();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isHealthy(PooledDriver pooled) {
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean reset(WebDriver driver, Set<String> origins) {
+        try {
+            String main = driver.getWindowHandle();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(main)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(main);
+            String current = originOf(driver.getCurrentUrl());
+            if (current != null) {
+                origins.add(current);
+            }
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                for (String origin : origins) {
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                            Map.<String, Object>of("origin", origin, "storageTypes", "all"));
+                }
+            } else if (origins.size() > 1) {
+                logger.fine(() -> "Session visited " + origins + "; other origins cannot be cleared without CDP");
+                return false;
+            } else {
+                driver.manage().deleteAllCookies();
+                if (driver instanceof JavascriptExecutor js) {
+                    js.executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+                }
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Browser reset failed", e);
+            return false;
+        }
+    }
+
+    private static void visited(String url) {
+        String origin = originOf(url);
+        if (origin != null) {
+            VISITED.get().add(origin);
+        }
+    }
+
+    // "https://host:8443/path" -> "https://host:8443"; null for about:, data: and unparsable URLs
+    private static String originOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null || !("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void destroy(PooledDriver pooled, String reason) {
+        EVICTIONS.increment();
+        logger.info(() -> "♻️ Retiring browser session for " + pooled.key + ": " + reason);
+        quitQuietly(pooled.driver);
+        freeSlot();
+    }
+
+    private static void freeSlot() {
+        LOCK.lock();
+        try {
+            live--;
+            AVAILABLE.signalAll();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Ignoring error while quitting browser", e);
+        }
+    }
+}
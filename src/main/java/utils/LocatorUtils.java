@@ -2,48 +2,107 @@ package utils;
 
 import exceptions.LocatorException;
 import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.locators.RelativeLocator;
 
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Logger;
 
 /**
  * Utility to fetch By locators (normal & relative).
+ * All entries of locators.properties are compiled once into immutable locators. Relative locators form a graph
+ * over their reference keys; it is checked for cycles at startup and references are resolved dependencies
+ * first. Reference elements are looked up lazily when the relative locator is used and cached per page in
+ * {@link ReferenceElementCache}.
  */
 public final class LocatorUtils {
 
-    private static final Properties LOCATORS = new Properties();
     private static final Logger logger = Logger.getLogger(LocatorUtils.class.getName());
+    private static final int DEFAULT_NEAR_DISTANCE = 50;
+
+    private static final Map<String, Compiled> LOCATORS;
 
     static {
-        try (FileInputStream fis = new FileInputStream("src/test/resources/config/locators.properties")) {
-            LOCATORS.load(fis);
-            logger.info(() -> "✅ Loaded locators.properties");
-        } catch (IOException e) {
+        Properties raw;
+        try {
+            raw = Config.loadResource("config/locators.properties");
+        } catch (IllegalStateException e) {
             throw new LocatorException("Failed to load locators.properties", e);
         }
+        LOCATORS = compileAll(raw);
+        logger.info(() -> "✅ Loaded locators.properties (" + LOCATORS.size() + " locators compiled)");
     }
 
     private LocatorUtils() {
     } // prevent instantiation
 
+    /**
+     * Locator in a form the browser can resolve itself inside a script (css, xpath, id, name, className, tagName).
+     */
+    public record ScriptLocator(String type, String value) {
+    }
+
+    private record Compiled(String raw, By by, ScriptLocator script, List<String> references) {
+    }
+
+    private record Condition(String operator, String refKey, int distance) {
+    }
+
     public static By get(String key) {
-        String raw = LOCATORS.getProperty(key);
-        if (raw == null) {
+        return compiled(key).by();
+    }
+
+    public static String getRaw(String key) {
+        Compiled locator = LOCATORS.get(key);
+        return locator == null ? null : locator.raw();
+    }
+
+    /**
+     * @param key locator key
+     * @return script-resolvable form of the locator, or null for relative and link-text locators
+     */
+    public static ScriptLocator scriptLocator(String key) {
+        return compiled(key).script();
+    }
+
+    private static Compiled compiled(String key) {
+        Compiled locator = LOCATORS.get(key);
+        if (locator == null) {
             throw new LocatorException("Locator not found for key: " + key);
         }
-
-        return raw.startsWith("relative:") ? buildRelativeBy(raw) : parseSimple(raw, key);
+        return locator;
     }
 
-    public static String getRaw(String key) {
-        return LOCATORS.getProperty(key);
+    // ==== Compilation ====
+
+    private static Map<String, Compiled> compileAll(Properties raw) {
+        Map<String, Compiled> compiled = new HashMap<>();
+        for (String key : raw.stringPropertyNames()) {
+            String value = raw.getProperty(key).trim();
+            compiled.put(key, value.startsWith("relative:") ? compileRelative(key, value) : compileSimple(key, value));
+        }
+        for (Map.Entry<String, Compiled> e : compiled.entrySet()) {
+            for (String ref : e.getValue().references()) {
+                if (!compiled.containsKey(ref)) {
+                    logger.warning(() -> String.format(
+                            "⚠️ Locator %s references unknown key '%s'; that condition will be ignored", e.getKey(), ref));
+                }
+            }
+        }
+        List<String> order = dependencyOrder(compiled);
+        logger.fine(() -> "Locator resolution order: " + order);
+        return Collections.unmodifiableMap(compiled);
     }
 
-    private static By parseSimple(String value, String key) {
+    private static Compiled compileSimple(String key, String value) {
         String[] parts = value.split(":", 2);
         if (parts.length != 2) {
             throw new LocatorException("Invalid locator format for key: " + key + " -> " + value);
@@ -52,7 +111,7 @@ public final class LocatorUtils {
         String type = parts[0].trim().toLowerCase();
         String locator = parts[1].trim();
 
-        return switch (type) {
+        By by = switch (type) {
             case "css" -> By.cssSelector(locator);
             case "xpath" -> By.xpath(locator);
             case "id" -> By.id(locator);
@@ -63,67 +122,50 @@ public final class LocatorUtils {
             case "partiallinktext" -> By.partialLinkText(locator);
             default -> throw new LocatorException("Unsupported locator type: " + type + " for key: " + key);
         };
+        ScriptLocator script = switch (type) {
+            case "css", "xpath", "id", "name", "classname", "tagname" -> new ScriptLocator(type, locator);
+            default -> null;
+        };
+        return new Compiled(value, by, script, List.of());
     }
 
-    private static By buildRelativeBy(String raw) {
-        String[] parts = raw.split("\\|");
-        By baseBy = parseBase(parts[0]);
-        var relBy = RelativeLocator.with(baseBy);
+    private static Compiled compileRelative(String key, String value) {
+        String[] parts = value.split("\\|");
+        By base = parseBase(parts[0]);
+        List<Condition> conditions = new ArrayList<>();
 
         for (int i = 1; i < parts.length; i++) {
             String condition = parts[i].trim();
+            if (!condition.contains("=")) {
+                continue;
+            }
+            String[] tokens = condition.split("=", 2);
+            String operator = tokens[0].trim().toLowerCase();
+            String refKey = tokens[1].trim();
+            int distance = DEFAULT_NEAR_DISTANCE;
 
-            if (condition.contains("=")) {           // only one "guard" condition
-                String[] tokens = condition.split("=", 2);
-                String operator = tokens[0].toLowerCase();
-                String refKey = tokens[1].trim();
-
-                WebElement refEl = findReferenceElement(refKey);
-                if (refEl != null) {                  // execute only if element exists
-                    relBy = applyRelativeCondition(relBy, operator, refKey, refEl);
+            switch (operator) {
+                case "below", "above", "toleftof", "torightof" -> {
+                    // no extra arguments
+                }
+                case "near" -> {
+                    if (refKey.contains(":")) {
+                        String[] nearTokens = refKey.split(":");
+                        refKey = nearTokens[0].trim();
+                        distance = Integer.parseInt(nearTokens[1].trim());
+                    }
                 }
+                default -> throw new LocatorException(
+                        String.format("Unknown relative condition: %s for key: %s", operator, key));
             }
+            conditions.add(new Condition(operator, refKey, distance));
         }
-        return relBy;
-    }
 
-    // Extracted to reduce complexity
-    private static WebElement findReferenceElement(String refKey) {
-        if (DriverFactory.getDriver() == null) return null;
-        try {
-            return DriverFactory.getDriver().findElement(get(refKey));
-        } catch (Exception ignored) {
-            return null;
-        }
+        List<Condition> frozen = List.copyOf(conditions);
+        List<String> references = frozen.stream().map(Condition::refKey).distinct().toList();
+        return new Compiled(value, new CompiledRelativeBy(key, base, frozen), null, references);
     }
 
-    // Extracted to reduce cognitive complexity
-    private static RelativeLocator.RelativeBy applyRelativeCondition(RelativeLocator.RelativeBy relBy,
-                                                                     String operator,
-                                                                     String refKey,
-                                                                     WebElement refEl) {
-        return switch (operator) {
-            case "below" -> relBy.below(refEl);
-            case "above" -> relBy.above(refEl);
-            case "toleftof" -> relBy.toLeftOf(refEl);
-            case "torightof" -> relBy.toRightOf(refEl);
-            case "near" -> {
-                int distance = 50;
-                if (refKey.contains(":")) {
-                    String[] nearTokens = refKey.split(":");
-                    refKey = nearTokens[0].trim();
-                    distance = Integer.parseInt(nearTokens[1].trim());
-                    WebElement newRef = findReferenceElement(refKey);
-                    if (newRef != null) refEl = newRef;
-                }
-                yield relBy.near(refEl, distance);
-            }
-            default -> throw new LocatorException(
-                    String.format("Unknown relative condition: %s", operator));
-        };
-    }
-
-
     private static By parseBase(String base) {
         String[] tokens = base.split(":");
         if (tokens.length < 3) {
@@ -140,4 +182,111 @@ public final class LocatorUtils {
             default -> throw new LocatorException("Unsupported relative base type: " + type);
         };
     }
+
+    // Depth-first topological sort over reference keys; a back edge is a cycle
+    private static List<String> dependencyOrder(Map<String, Compiled> compiled) {
+        List<String> order = new ArrayList<>(compiled.size());
+        Map<String, Boolean> state = new HashMap<>(); // false = in progress, true = done
+        for (String key : compiled.keySet()) {
+            visit(key, compiled, state, new LinkedHashSet<>(), order);
+        }
+        return order;
+    }
+
+    private static void visit(String key, Map<String, Compiled> compiled, Map<String, Boolean> state,
+                              LinkedHashSet<String> path, List<String> order) {
+        Compiled locator = compiled.get(key);
+        if (locator == null || Boolean.TRUE.equals(state.get(key))) {
+            return;
+        }
+        if (state.containsKey(key)) {
+            List<String> onPath = new ArrayList<>(path);
+            List<String> cycle = new ArrayList<>(onPath.subList(onPath.indexOf(key), onPath.size()));
+            cycle.add(key);
+            throw new LocatorException("Cyclic relative locator references: " + String.join(" → ", cycle));
+        }
+        state.put(key, false);
+        path.add(key);
+        for (String ref : locator.references()) {
+            visit(ref, compiled, state, path, order);
+        }
+        path.remove(key);
+        state.put(key, true);
+        order.add(key);
+    }
+
+    // ==== Relative resolution ====
+
+    /**
+     * Relative locator whose reference elements are resolved when it is used (the page must be loaded by then),
+     * with cached references and one retry when a cached reference has gone stale.
+     */
+    private static final class CompiledRelativeBy extends By {
+        private final String key;
+        private final By base;
+        private final List<Condition> conditions;
+
+        private CompiledRelativeBy(String key, By base, List<Condition> conditions) {
+            this.key = key;
+            this.base = base;
+            this.conditions = conditions;
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            try {
+                return build(context).findElements(context);
+            } catch (StaleElementReferenceException e) {
+                ReferenceElementCache.clear();
+                return build(context).findElements(context);
+            }
+        }
+
+        private By build(SearchContext context) {
+            RelativeLocator.RelativeBy relBy = RelativeLocator.with(base);
+            for (Condition c : conditions) {
+                WebElement refEl = findReferenceElement(context, c.refKey());
+                if (refEl != null) {                  // execute only if element exists
+                    relBy = applyRelativeCondition(relBy, c, refEl);
+                }
+            }
+            return relBy;
+        }
+
+        @Override
+        public String toString() {
+            return "By.relative(" + key + "): " + base + " " + conditions;
+        }
+    }
+
+    private static WebElement findReferenceElement(SearchContext context, String refKey) {
+        Compiled reference = LOCATORS.get(refKey);
+        if (reference == null) {
+            return null;
+        }
+        WebElement cached = ReferenceElementCache.get(refKey);
+        if (cached != null) {
+            return cached;
+        }
+        List<WebElement> found = context.findElements(reference.by());
+        if (found.isEmpty()) {
+            return null;
+        }
+        ReferenceElementCache.put(refKey, found.get(0));
+        return found.get(0);
+    }
+
+    private static RelativeLocator.RelativeBy applyRelativeCondition(RelativeLocator.RelativeBy relBy,
+                                                                     Condition condition,
+                                                                     WebElement refEl) {
+        return switch (condition.operator()) {
+            case "below" -> relBy.below(refEl);
+            case "above" -> relBy.above(refEl);
+            case "toleftof" -> relBy.toLeftOf(refEl);
+            case "torightof" -> relBy.toRightOf(refEl);
+            case "near" -> relBy.near(refEl, condition.distance());
+            default -> throw new LocatorException(
+                    String.format("Unknown relative condition: %s", condition.operator()));
+        };
+    }
 }
@@ -1,79 +1,132 @@
 package utils;
 
-import java.io.IOException;
 import java.nio.file.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.*;
 
+/**
+ * Per-scenario loggers. Records are handed to {@link AsyncLogPipeline}, so a log call on the scenario thread
+ * costs a queue insert; formatting, compression and file I/O happen on the pipeline's writer thread.
+ * All scenarios of a run share one block-compressed, indexed run log ({@code logs/run-<ts>.log}), in which each
+ * scenario is identified by {@code <scenario name>-<start time>}; read it back with {@link RunLogReader}.
+ * Loggers are reference counted by scenario name and must be released with
+ * {@link #releaseScenarioLogger(String)} when the scenario ends, which writes out the scenario's last block.
+ */
 public final class LogFactory {
 
-    private static final ConcurrentHashMap<String, Logger> SCENARIO_LOGGERS = new ConcurrentHashMap<>();
-    private static final String LOG_DIR = "logs";
+    private static final ConcurrentHashMap<String, ScenarioLog> SCENARIO_LOGGERS = new ConcurrentHashMap<>();
+    static final String LOG_DIR = "logs";
     private static final String LOG_DATE_FORMAT = "yyyyMMdd-HHmmss";
-    private static final String LOG_FORMAT = "%1$tF %1$tT [%4$s] %5$s %n";
 
     private LogFactory() {
         // utility class
     }
 
+    private static final class ScenarioLog {
+        private final Logger logger;
+        private final Handler handler;
+        private int references;
+
+        private ScenarioLog(Logger logger, Handler handler) {
+            this.logger = logger;
+            this.handler = handler;
+        }
+    }
+
     public static Logger createScenarioLogger(String scenarioName) {
-        return SCENARIO_LOGGERS.computeIfAbsent(scenarioName, key -> {
-            Logger logger = Logger.getLogger("SCENARIO-" + key);
-            logger.setUseParentHandlers(false);
-
-            try {
-                Level level = Level.parse(Config.get("log.level"));
-                logger.setLevel(level);
-            } catch (Exception e) {
-                logger.setLevel(Level.INFO);
-            }
+        return SCENARIO_LOGGERS.compute(scenarioName, (key, existing) -> {
+            ScenarioLog log = existing != null ? existing : openScenarioLog(key);
+            log.references++;
+            return log;
+        }).logger;
+    }
 
-            Path logFile = prepareLogFile(key);
-            try {
-                FileHandler fh = createFileHandler(logFile.toString());
-                logger.addHandler(fh);
-            } catch (IOException e) {
-                throw new LoggerInitializationException("Failed to create log file for scenario: " + key, e);
+    /**
+     * Drops one reference to the scenario's logger; the last release detaches its handler and closes the file
+     * once everything logged before has been written.
+     */
+    public static void releaseScenarioLogger(String scenarioName) {
+        Handler[] released = new Handler[1];
+        SCENARIO_LOGGERS.computeIfPresent(scenarioName, (key, log) -> {
+            if (--log.references > 0) {
+                return log;
             }
-
-            return logger;
+            log.logger.removeHandler(log.handler);
+            released[0] = log.handler;
+            return null;
         });
+        // Closing may wait for queue space; doing it outside compute keeps the map bin unlocked meanwhile
+        if (released[0] != null) {
+            released[0].close();
+        }
     }
 
-    private static Path prepareLogFile(String scenarioName) {
-        String ts = new SimpleDateFormat(LOG_DATE_FORMAT).format(new Date());
-        String safeName = scenarioName.replaceAll("[^a-zA-Z0-9-_]", "_");
-        Path dir = Paths.get(LOG_DIR);
+    private static ScenarioLog openScenarioLog(String key) {
+        Logger logger = Logger.getLogger("SCENARIO-" + key);
+        logger.setUseParentHandlers(false);
+
         try {
-            Files.createDirectories(dir);
-        } catch (IOException e) {
-            throw new LoggerInitializationException("Failed to create logs directory: " + LOG_DIR, e);
+            Level level = Level.parse(Config.get("log.level"));
+            logger.setLevel(level);
+        } catch (Exception e) {
+            logger.setLevel(Level.INFO);
         }
-        return dir.resolve(safeName + "-" + ts + ".log");
+
+        Handler handler = new ScenarioLogHandler(new AsyncLogPipeline.Target(scenarioId(key)));
+        logger.addHandler(handler);
+        return new ScenarioLog(logger, handler);
     }
 
-    private static FileHandler createFileHandler(String filePath) throws IOException {
-        FileHandler fh = new FileHandler(filePath, true);
-        fh.setFormatter(new SimpleFormatter() {
-            @Override
-            public String format(LogRecord lr) {
-                return String.format(LOG_FORMAT,
-                        new Date(lr.getMillis()),
-                        lr.getSourceClassName(),
-                        lr.getLoggerName(),
-                        lr.getLevel().getLocalizedName(),
-                        lr.getMessage());
-            }
-        });
-        return fh;
+    private static String scenarioId(String scenarioName) {
+        String ts = new SimpleDateFormat(LOG_DATE_FORMAT).format(new Date());
+        return scenarioName.replaceAll("[^a-zA-Z0-9-_]", "_") + "-" + ts;
     }
 
-    // Custom exception
-    public static class LoggerInitializationException extends RuntimeException {
-        public LoggerInitializationException(String message, Throwable cause) {
-            super(message, cause);
+    /**
+     * Writes everything logged so far to the run log; call at the end of the suite.
+     */
+    public static void flush() {
+        if (!AsyncLogPipeline.drain(10, TimeUnit.SECONDS)) {
+            Logger.getLogger(LogFactory.class.getName()).warning("⚠️ Timed out writing pending scenario logs");
+        }
+    }
+
+    /**
+     * @return this run's log file
+     */
+    public static Path runLogFile() {
+        return AsyncLogPipeline.runLogFile();
+    }
+
+    private static final class ScenarioLogHandler extends Handler {
+        private final AsyncLogPipeline.Target target;
+        private volatile boolean closed;
+
+        private ScenarioLogHandler(AsyncLogPipeline.Target target) {
+            this.target = target;
+        }
+
+        @Override
+        public void publish(LogRecord lr) {
+            if (!closed && isLoggable(lr)) {
+                AsyncLogPipeline.publish(target, lr);
+            }
+        }
+
+        @Override
+        public void flush() {
+            // the writer thread flushes whenever its queue runs empty
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                AsyncLogPipeline.close(target);
+            }
         }
     }
 }
@@ -0,0 +1,83 @@
+package utils;
+
+import com.github.javafaker.Faker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of randomness for generated test data.
+ * Implementations are used by one thread at a time; {@link #threadLocal()} gives every thread its own
+ * uncontended generator and {@link Faker} (which is not thread-safe).
+ * Building a Faker loads its locale files, so threads borrow one from a shared pool
+ * ({@code data.faker.poolSize}) and hand it back via {@link #release()} when their scenario ends; a runner
+ * that starts a virtual thread per scenario then reuses Fakers instead of building one per scenario.
+ */
+public interface RandomSource {
+
+    int nextInt(int bound);
+
+    double nextDouble();
+
+    Faker faker();
+
+    /**
+     * @return the calling thread's shared source
+     */
+    static RandomSource threadLocal() {
+        return ThreadLocalSource.INSTANCE;
+    }
+
+    /**
+     * Returns the calling thread's Faker to the shared pool. Called when a scenario ends.
+     */
+    static void release() {
+        ThreadLocalSource.release();
+    }
+
+    /**
+     * Delegates to {@link ThreadLocalRandom} and a per-thread {@link Faker}.
+     */
+    final class ThreadLocalSource implements RandomSource {
+
+        private static final ThreadLocalSource INSTANCE = new ThreadLocalSource();
+        private static final BlockingQueue<Faker> POOL =
+                new ArrayBlockingQueue<>(Math.max(1, Config.getInt("data.faker.poolSize", 64)));
+        private static final ThreadLocal<Faker> FAKERS = new ThreadLocal<>();
+
+        private ThreadLocalSource() {
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return ThreadLocalRandom.current().nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+
+        @Override
+        public Faker faker() {
+            Faker faker = FAKERS.get();
+            if (faker == null) {
+                faker = POOL.poll();
+                if (faker == null) {
+                    faker = new Faker();
+                }
+                FAKERS.set(faker);
+            }
+            return faker;
+        }
+
+        private static void release() {
+            Faker faker = FAKERS.get();
+            if (faker != null) {
+                FAKERS.remove();
+                POOL.offer(faker);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread cache of the reference elements used by relative locators ({@code below=login.username}), so a
+ * relative lookup does not re-find every reference element on each call.
+ * The cache belongs to the current page: it is cleared on navigation, window/frame switches and window
+ * close (through {@link #listener()} on the decorated driver), at scenario boundaries, and by the relative
+ * locator itself when a cached element turns out to be stale. Disable with
+ * {@code ui.locator.cacheReferences=false}.
+ */
+public final class ReferenceElementCache {
+
+    private static final boolean ENABLED = Config.getBoolean("ui.locator.cacheReferences", true);
+    private static final ThreadLocal<Map<String, WebElement>> CACHE = ThreadLocal.withInitial(HashMap::new);
+
+    private static final WebDriverListener LISTENER = new WebDriverListener() {
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            if (target instanceof WebDriver.Navigation || target instanceof WebDriver.TargetLocator
+                    || (target instanceof WebDriver && (method.getName().equals("get")
+                    || method.getName().equals("close")))) {
+                clear();
+            }
+        }
+    };
+
+    private ReferenceElementCache() {
+        // utility class
+    }
+
+    /**
+     * @return listener that clears the current thread's cache whenever the page may have changed
+     */
+    public static WebDriverListener listener() {
+        return LISTENER;
+    }
+
+    static WebElement get(String locatorKey) {
+        return ENABLED ? CACHE.get().get(locatorKey) : null;
+    }
+
+    static void put(String locatorKey, WebElement element) {
+        if (ENABLED) {
+            CACHE.get().put(locatorKey, element);
+        }
+    }
+
+    /**
+     * Forgets all reference elements cached by the current thread.
+     */
+    public static void clear() {
+        CACHE.get().clear();
+    }
+}
@@ -0,0 +1,96 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * Append-only, block-compressed log shared by all scenarios of a run ({@code logs/run-<ts>.log}).
+ * Each block holds a run of one scenario's lines and is deflated on its own:
+ * <pre>
+ *   int magic | short idLength | id (UTF-8) | int rawLength | int compressedLength | deflate data
+ * </pre>
+ * Every block is also listed in the sibling {@code .idx} file as
+ * {@code scenarioId \t offset \t blockLength \t rawLength}, so {@link RunLogReader} can read one scenario's
+ * blocks without inflating the rest. The headers alone are enough to rebuild a lost index.
+ * Not thread-safe: only the {@link AsyncLogPipeline} writer thread appends.
+ */
+final class RunLog implements AutoCloseable {
+
+    static final int MAGIC = 0x514C4F47; // "QLOG"
+    static final String DATA_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private final Path dataFile;
+    private final FileChannel data;
+    private final Writer index;
+    private final Deflater deflater;
+    private final byte[] chunk = new byte[16 * 1024];
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream(16 * 1024);
+
+    private RunLog(Path dataFile, Path indexFile, int level) throws IOException {
+        this.dataFile = dataFile;
+        this.data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.index = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.deflater = new Deflater(level);
+    }
+
+    static RunLog open(Path dir, String runId, int level) throws IOException {
+        Files.createDirectories(dir);
+        return new RunLog(dir.resolve(runId + DATA_SUFFIX), dir.resolve(runId + INDEX_SUFFIX), level);
+    }
+
+    Path file() {
+        return dataFile;
+    }
+
+    /**
+     * Compresses {@code text} into one block for the scenario and records it in the index.
+     */
+    void append(String scenarioId, String text) throws IOException {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        compressed.reset();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+
+        byte[] id = scenarioId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(14 + id.length)
+                .putInt(MAGIC)
+                .putShort((short) id.length)
+                .put(id)
+                .putInt(raw.length)
+                .putInt(compressed.size())
+                .flip();
+        ByteBuffer body = ByteBuffer.wrap(compressed.toByteArray());
+
+        long offset = data.size();
+        int length = header.remaining() + body.remaining();
+        ByteBuffer[] block = {header, body};
+        while (body.hasRemaining()) {
+            data.write(block);
+        }
+        index.write(scenarioId + '\t' + offset + '\t' + length + '\t' + raw.length + '\n');
+        index.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        try (data; index) {
+            data.force(false);
+        }
+    }
+}
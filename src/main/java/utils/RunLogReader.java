@@ -0,0 +1,265 @@
+package utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads scenario logs back out of a {@link RunLog}. Only the blocks of the requested scenario are read and
+ * inflated. Uses the {@code .idx} file when present, otherwise rebuilds the index from the block headers.
+ *
+ * <p>Command line (only needs the compiled classes):</p>
+ * <pre>
+ *   java -cp target/classes utils.RunLogReader [--file logs/run-….log] list
+ *   java -cp target/classes utils.RunLogReader [--file …] cat  &lt;scenario&gt;
+ *   java -cp target/classes utils.RunLogReader [--file …] grep &lt;regex&gt; [scenario]
+ * </pre>
+ * Without {@code --file} the newest run log in {@code logs/} is used. A scenario may be given by its full id or
+ * by any unique part of it.
+ */
+public final class RunLogReader implements AutoCloseable {
+
+    /**
+     * Location of one compressed block in the run log.
+     */
+    public record Block(String scenarioId, long offset, int length, int rawLength) {
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, List<Block>> blocks = new LinkedHashMap<>();
+
+    private RunLogReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file);
+        Path indexFile = indexFileOf(file);
+        List<Block> all = Files.exists(indexFile) ? readIndex(indexFile) : scanHeaders();
+        for (Block block : all) {
+            blocks.computeIfAbsent(block.scenarioId(), k -> new ArrayList<>()).add(block);
+        }
+    }
+
+    /**
+     * @param file run log ({@code logs/run-<ts>.log})
+     */
+    public static RunLogReader open(Path file) {
+        try {
+            return new RunLogReader(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open run log " + file, e);
+        }
+    }
+
+    /**
+     * @return newest run log in {@code dir}
+     */
+    public static Path latest(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith("run-")
+                            && p.getFileName().toString().endsWith(RunLog.DATA_SUFFIX))
+                    .max(Comparator.comparing(p -> p.getFileName().toString()))
+                    .orElseThrow(() -> new IllegalStateException("No run log found in " + dir));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + dir, e);
+        }
+    }
+
+    /**
+     * @return scenario ids in the order they first wrote a block
+     */
+    public Set<String> scenarios() {
+        return blocks.keySet();
+    }
+
+    /**
+     * Resolves a scenario by full id or by a unique substring of it.
+     */
+    public String resolve(String scenario) {
+        if (blocks.containsKey(scenario)) {
+            return scenario;
+        }
+        List<String> matches = blocks.keySet().stream().filter(id -> id.contains(scenario)).toList();
+        if (matches.size() != 1) {
+            throw new IllegalArgumentException(matches.isEmpty()
+                    ? "No scenario matching '" + scenario + "' in " + file
+                    : "Scenario '" + scenario + "' is ambiguous: " + matches);
+        }
+        return matches.get(0);
+    }
+
+    /**
+     * @return the full log of one scenario
+     */
+    public String read(String scenarioId) {
+        StringBuilder out = new StringBuilder();
+        for (Block block : blocks.getOrDefault(scenarioId, List.of())) {
+            out.append(inflate(block));
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return lines of the scenario's log matching {@code pattern}
+     */
+    public List<String> grep(String scenarioId, Pattern pattern) {
+        return read(scenarioId).lines().filter(line -> pattern.matcher(line).find()).toList();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==== Block access ====
+
+    private String inflate(Block block) {
+        try {
+            ByteBuffer buf = readFully(block.offset(), block.length());
+            if (buf.getInt() != RunLog.MAGIC) {
+                throw new IOException("Corrupt block at offset " + block.offset());
+            }
+            int idLength = buf.getShort() & 0xFFFF;
+            buf.position(buf.position() + idLength);
+            int rawLength = buf.getInt();
+            int compressedLength = buf.getInt();
+
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(buf.array(), buf.position(), compressedLength);
+                byte[] raw = new byte[rawLength];
+                int n = 0;
+                while (n < rawLength && !inflater.finished()) {
+                    int read = inflater.inflate(raw, n, rawLength - n);
+                    if (read == 0 && inflater.needsInput()) {
+                        throw new EOFException("Truncated block at offset " + block.offset());
+                    }
+                    n += read;
+                }
+                return new String(raw, 0, n, StandardCharsets.UTF_8);
+            } finally {
+                inflater.end();
+            }
+        } catch (IOException | DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Failed to read block of " + block.scenarioId(), e));
+        }
+    }
+
+    private ByteBuffer readFully(long offset, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, offset + buf.position()) < 0) {
+                throw new EOFException("Unexpected end of " + file + " at " + (offset + buf.position()));
+            }
+        }
+        return buf.flip();
+    }
+
+    private static List<Block> readIndex(Path indexFile) throws IOException {
+        List<Block> all = new ArrayList<>();
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            String[] f = line.split("\t");
+            if (f.length == 4) {
+                all.add(new Block(f[0], Long.parseLong(f[1]), Integer.parseInt(f[2]), Integer.parseInt(f[3])));
+            }
+        }
+        return all;
+    }
+
+    // Walks the block headers; a torn block at the end (crash mid-write) is ignored
+    private List<Block> scanHeaders() throws IOException {
+        List<Block> all = new ArrayList<>();
+        long size = channel.size();
+        long offset = 0;
+        while (offset + 6 <= size) {
+            ByteBuffer head = readFully(offset, 6);
+            if (head.getInt() != RunLog.MAGIC) {
+                break;
+            }
+            int idLength = head.getShort() & 0xFFFF;
+            if (offset + 14 + idLength > size) {
+                break;
+            }
+            ByteBuffer rest = readFully(offset + 6, idLength + 8);
+            String id = new String(rest.array(), 0, idLength, StandardCharsets.UTF_8);
+            rest.position(idLength);
+            int rawLength = rest.getInt();
+            int length = 14 + idLength + rest.getInt();
+            if (offset + length > size) {
+                break;
+            }
+            all.add(new Block(id, offset, length, rawLength));
+            offset += length;
+        }
+        return all;
+    }
+
+    private static Path indexFileOf(Path dataFile) {
+        String name = dataFile.getFileName().toString();
+        String base = name.endsWith(RunLog.DATA_SUFFIX)
+                ? name.substring(0, name.length() - RunLog.DATA_SUFFIX.length()) : name;
+        return dataFile.resolveSibling(base + RunLog.INDEX_SUFFIX);
+    }
+
+    // ==== CLI ====
+
+    public static void main(String[] args) {
+        List<String> rest = new ArrayList<>(List.of(args));
+        Path file;
+        if (rest.size() >= 2 && rest.get(0).equals("--file")) {
+            file = Paths.get(rest.get(1));
+            rest = rest.subList(2, rest.size());
+        } else {
+            file = latest(Paths.get(LogFactory.LOG_DIR));
+        }
+        if (rest.isEmpty()) {
+            System.err.println("Usage: RunLogReader [--file <run.log>] list | cat <scenario> | grep <regex> [scenario]");
+            System.exit(2);
+        }
+
+        try (RunLogReader reader = open(file)) {
+            switch (rest.get(0)) {
+                case "list" -> reader.scenarios().forEach(id -> System.out.println(id + "\t"
+                        + reader.blocks.get(id).stream().mapToLong(Block::rawLength).sum() + " bytes"));
+                case "cat" -> System.out.print(reader.read(reader.resolve(argument(rest, 1))));
+                case "grep" -> {
+                    Pattern pattern = Pattern.compile(argument(rest, 1));
+                    List<String> ids = rest.size() > 2 ? List.of(reader.resolve(rest.get(2)))
+                            : List.copyOf(reader.scenarios());
+                    for (String id : ids) {
+                        reader.grep(id, pattern).forEach(line -> System.out.println(
+                                ids.size() > 1 ? id + ": " + line : line));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown command: " + rest.get(0));
+            }
+        }
+    }
+
+    private static String argument(List<String> args, int position) {
+        if (args.size() <= position) {
+            throw new IllegalArgumentException("Missing argument for " + args.get(0));
+        }
+        return args.get(position);
+    }
+}
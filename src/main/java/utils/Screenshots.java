@@ -0,0 +1,176 @@
+package utils;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Failure screenshots, captured once as PNG bytes.
+ * The same bytes are attached to the report; writing the copy under {@code screenshot.path} (optionally scaled
+ * down to {@code ui.screenshot.maxWidth} pixels) runs on a small bounded background pool, so the scenario thread
+ * can hand its browser back right after the capture. When the pool's queue ({@code ui.screenshot.queueSize}) is
+ * full, the scenario thread writes the file itself.
+ *
+ * <p>Screenshots are identified by the SHA-256 of their content: identical images are written to disk once, and
+ * a retried scenario that fails on the same screen attaches the image only once.</p>
+ */
+public final class Screenshots {
+
+    private static final Logger logger = Logger.getLogger(Screenshots.class.getName());
+    private static final Path DIR = Paths.get(Config.get("screenshot.path", "target/screenshots"));
+    private static final int MAX_WIDTH = Config.getInt("ui.screenshot.maxWidth", 0);
+
+    private static final Map<String, Path> FILES = new ConcurrentHashMap<>();
+    private static final Set<String> ATTACHED = ConcurrentHashMap.newKeySet();
+    private static final ThreadPoolExecutor WRITER = createWriter();
+    // Scheduled but unfinished writes; awaitWrites waits for zero instead of shutting the pool down, so it can be
+    // called by every runner of the JVM
+    private static final Object WRITES_LOCK = new Object();
+    private static int pendingWrites;
+
+    private Screenshots() {
+        // utility class
+    }
+
+    /**
+     * @param png  image as returned by the driver
+     * @param hash SHA-256 of the image (hex)
+     * @param file where the on-disk copy is (being) written; shared by all captures of the same image
+     */
+    public record Screenshot(byte[] png, String hash, Path file) {
+    }
+
+    /**
+     * Takes a screenshot and schedules its on-disk copy; the driver is no longer needed once this returns.
+     *
+     * @param driver       driver to capture
+     * @param scenarioName used to name the file
+     */
+    public static Screenshot capture(WebDriver driver, String scenarioName) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        String hash = DigestUtils.sha256Hex(png);
+        String safeName = scenarioName.replaceAll("[^a-zA-Z0-9-_]", "_");
+        Path file = DIR.resolve(safeName + "-" + hash.substring(0, 12) + ".png");
+        Path existing = FILES.putIfAbsent(hash, file);
+        if (existing != null) {
+            return new Screenshot(png, hash, existing);
+        }
+        synchronized (WRITES_LOCK) {
+            pendingWrites++;
+        }
+        WRITER.execute(() -> {
+            try {
+                if (!write(file, png)) {
+                    FILES.remove(hash, file);
+                }
+            } finally {
+                synchronized (WRITES_LOCK) {
+                    pendingWrites--;
+                    WRITES_LOCK.notifyAll();
+                }
+            }
+        });
+        return new Screenshot(png, hash, file);
+    }
+
+    /**
+     * Records that the screenshot is attached to the given scenario.
+     *
+     * @param scenarioKey identifies the scenario across retries, e.g. its uri and line
+     * @return false if this image was already attached to that scenario
+     */
+    public static boolean markAttached(String scenarioKey, Screenshot screenshot) {
+        return ATTACHED.add(scenarioKey + "#" + screenshot.hash());
+    }
+
+    /**
+     * Waits for pending screenshot files; call at the end of the suite. The writer stays usable afterwards.
+     */
+    public static void awaitWrites(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (WRITES_LOCK) {
+            try {
+                while (pendingWrites > 0) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        logger.warning(() -> "⚠️ Screenshots still being written after " + timeout + " " + unit);
+                        return;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(WRITES_LOCK, left);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor createWriter() {
+        int threads = Math.max(1, Config.getInt("ui.screenshot.writerThreads", 2));
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, Config.getInt("ui.screenshot.queueSize", 16))),
+                r -> {
+                    Thread t = new Thread(r, "screenshot-writer-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // A failed write is forgotten, so the next capture of the same image tries again
+    private static boolean write(Path file, byte[] png) {
+        try {
+            Files.createDirectories(file.getParent());
+            byte[] content = MAX_WIDTH > 0 ? downscale(png, MAX_WIDTH) : png;
+            Files.write(file, content);
+            logger.fine(() -> "🖼 Screenshot written: " + file);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, e, () -> "⚠️ Could not write screenshot " + file);
+            return false;
+        }
+    }
+
+    // Returns the original bytes when the image is already narrow enough or cannot be decoded
+    private static byte[] downscale(byte[] png, int maxWidth) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null || source.getWidth() <= maxWidth) {
+            return png;
+        }
+        int height = Math.max(1, (int) Math.round(source.getHeight() * (double) maxWidth / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, maxWidth, height, null);
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        ImageIO.write(scaled, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,182 @@
+package utils;
+
+import com.github.javafaker.Faker;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Compiled form of a generator pattern such as {@code string:5+number:3} or {@code futuredate:7:dd/MM/yyyy}.
+ * A pattern is parsed once into immutable parts (formatters and lengths are resolved up front) and cached
+ * by its raw text; {@link #generate(RandomSource)} then only draws random values and appends them.
+ *
+ * <p>Supported tokens, joined with {@code +}: {@code date:<fmt>}, {@code futuredate:<days>[:<fmt>]},
+ * {@code number:<digits>}, {@code string:<length>}, {@code float:<intDigits>[:<decimalPlaces>]},
+ * {@code firstname}, {@code lastname}, {@code email}, {@code phonenumber}, {@code address}.
+ * Keywords are case-insensitive; date formats keep their case ({@code MM} is month, {@code mm} minutes).</p>
+ */
+public final class TokenTemplate {
+
+    private static final Logger LOGGER = Logger.getLogger(TokenTemplate.class.getName());
+    private static final ConcurrentMap<String, TokenTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final DateTimeFormatter DEFAULT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int DEFAULT_DECIMAL_PLACES = 2;
+
+    private final String pattern;
+    private final List<Part> parts;
+
+    @FunctionalInterface
+    private interface Part {
+        void appendTo(StringBuilder sb, RandomSource random);
+    }
+
+    private TokenTemplate(String pattern, List<Part> parts) {
+        this.pattern = pattern;
+        this.parts = parts;
+    }
+
+    /**
+     * Returns the compiled template for a pattern, compiling and caching it on first use.
+     *
+     * @param pattern generator pattern without the surrounding {@code ${...}}
+     * @return compiled template
+     * @throws ValueResolver.UnknownTokenException if a token is not recognised (such patterns are not cached)
+     */
+    public static TokenTemplate of(String pattern) {
+        TokenTemplate template = CACHE.get(pattern);
+        return template != null ? template : CACHE.computeIfAbsent(pattern, TokenTemplate::compile);
+    }
+
+    /**
+     * @return the raw pattern this template was compiled from
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Generates a value using the calling thread's random source.
+     */
+    public String generate() {
+        return generate(RandomSource.threadLocal());
+    }
+
+    /**
+     * Generates a value drawing all randomness from the given source.
+     *
+     * @param random source to draw from; not shared across threads while in use
+     * @return generated value
+     */
+    public String generate(RandomSource random) {
+        StringBuilder sb = new StringBuilder(32);
+        for (Part part : parts) {
+            part.appendTo(sb, random);
+        }
+        return sb.toString();
+    }
+
+    private static TokenTemplate compile(String pattern) {
+        String[] tokens = pattern.split("\\+");
+        Part[] parts = new Part[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            parts[i] = compileToken(tokens[i].trim());
+        }
+        return new TokenTemplate(pattern, List.of(parts));
+    }
+
+    private static Part compileToken(String token) {
+        int colon = token.indexOf(':');
+        String keyword = (colon < 0 ? token : token.substring(0, colon)).toLowerCase();
+        String args = colon < 0 ? "" : token.substring(colon + 1);
+
+        return switch (keyword) {
+            case "date" -> {
+                DateTimeFormatter fmt = DateTimeFormatter.ofPattern(args);
+                yield (sb, r) -> sb.append(LocalDate.now().format(fmt));
+            }
+            case "futuredate" -> {
+                String[] a = args.split(":", 2);
+                int days = Integer.parseInt(a[0].trim());
+                DateTimeFormatter fmt = a.length > 1 ? DateTimeFormatter.ofPattern(a[1]) : DEFAULT_DATE_FORMAT;
+                yield (sb, r) -> sb.append(LocalDate.now().plusDays(days).format(fmt));
+            }
+            case "number" -> {
+                int digits = Integer.parseInt(args.trim());
+                yield (sb, r) -> appendNumeric(sb, r, digits);
+            }
+            case "string" -> {
+                int length = Integer.parseInt(args.trim());
+                yield (sb, r) -> appendLetters(sb, r, length);
+            }
+            case "float" -> compileFloat(token, args);
+            case "firstname" -> faker(f -> f.name().firstName());
+            case "lastname" -> faker(f -> f.name().lastName());
+            case "email" -> faker(f -> f.internet().emailAddress());
+            case "phonenumber" -> faker(f -> f.phoneNumber().cellPhone());
+            case "address" -> faker(f -> f.address().fullAddress());
+            default -> throw new ValueResolver.UnknownTokenException(token.toLowerCase());
+        };
+    }
+
+    private static Part compileFloat(String token, String args) {
+        String[] a = args.split(":");
+        double max = Math.pow(10, Integer.parseInt(a[0].trim())) - 1;
+        int decimalPlaces = DEFAULT_DECIMAL_PLACES;
+        if (a.length > 1) {
+            if (ValueTypes.classify(a[1]) == ValueTypes.Kind.INT) {
+                decimalPlaces = Integer.parseInt(a[1].trim());
+            } else {
+                LOGGER.info(() -> "Ignoring non-integer decimal places in " + token + ": " + a[1]);
+            }
+        }
+        int scale = decimalPlaces;
+        return (sb, r) -> {
+            double val = r.nextDouble() * (max - 1) + 1;
+            BigDecimal bd = BigDecimal.valueOf(val).setScale(scale, RoundingMode.HALF_UP);
+            sb.append(formatFloatString(bd.stripTrailingZeros().toPlainString()));
+        };
+    }
+
+    private static Part faker(Function<Faker, String> generator) {
+        return (sb, r) -> sb.append(generator.apply(r.faker()));
+    }
+
+    // First digit is 1-9 so the value keeps its length when parsed as a number
+    private static void appendNumeric(StringBuilder sb, RandomSource random, int digits) {
+        if (digits <= 0) {
+            return;
+        }
+        sb.append((char) ('1' + random.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+    }
+
+    private static void appendLetters(StringBuilder sb, RandomSource random, int length) {
+        for (int i = 0; i < length; i++) {
+            sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+    }
+
+    /**
+     * Removes the leading zero of fractional numbers (0.5 -> .5, -0.5 -> -.5).
+     */
+    private static String formatFloatString(String floatStr) {
+        if (floatStr.startsWith("0.") && floatStr.length() > 2) {
+            return floatStr.substring(1);
+        }
+        if (floatStr.startsWith("-0.")) {
+            return "-" + floatStr.substring(2);
+        }
+        return floatStr;
+    }
+}
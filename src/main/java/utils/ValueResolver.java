@@ -1,23 +1,40 @@
 package utils;
 
-import com.github.javafaker.Faker;
 import context.ScenarioContext;
 import com.qa.bdd.steps.Hooks;
+import secrets.SecretStore;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.security.SecureRandom;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.SequencedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
+/**
+ * Resolves DataTable values: {@code ${context:key}}, {@code ${vault:key}}, {@code ${key=pattern}} and
+ * {@code ${pattern}} tokens; anything else is returned unchanged.
+ * Each distinct token string is compiled once into an immutable {@link Plan} (generator patterns into a
+ * {@link TokenTemplate}) and cached, so resolving the same token for many rows only draws random values.
+ */
 public final class ValueResolver {
-    private static final Faker FAKER = new Faker();
-    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ConcurrentMap<String, Plan> PLANS = new ConcurrentHashMap<>();
 
     private ValueResolver() {
     } // utility class
 
+    private sealed interface Plan permits ContextPlan, VaultPlan, GeneratePlan {
+    }
+
+    private record ContextPlan(String key) implements Plan {
+    }
+
+    private record VaultPlan(String secretKey) implements Plan {
+    }
+
+    /** {@code storeKey} is null for plain {@code ${pattern}} tokens. */
+    private record GeneratePlan(TokenTemplate template, String storeKey) implements Plan {
+    }
+
     public static String resolve(String rawValue) {
         Logger logger = Hooks.getLogger();
 
@@ -25,153 +42,80 @@ public final class ValueResolver {
 
         if (logger != null) logger.info(() -> "🔍 Resolving value token: " + rawValue);
 
-        if (rawValue.startsWith("${context:") && rawValue.endsWith("}")) {
-            return resolveFromContext(rawValue, logger);
+        if (!rawValue.startsWith("${") || !rawValue.endsWith("}")) {
+            return rawValue;
         }
 
-        if (rawValue.startsWith("${vault:") && rawValue.endsWith("}")) {
-            return resolveFromVault(rawValue, logger);
+        Plan plan = PLANS.get(rawValue);
+        if (plan == null) {
+            plan = PLANS.computeIfAbsent(rawValue, ValueResolver::compile);
         }
 
-        if (rawValue.startsWith("${") && rawValue.endsWith("}") && rawValue.contains("=")) {
-            return resolveAndStore(rawValue, logger);
-        }
+        return switch (plan) {
+            case ContextPlan p -> resolveFromContext(p.key(), logger);
+            case VaultPlan p -> resolveFromVault(p.secretKey(), logger);
+            case GeneratePlan p -> p.storeKey() == null
+                    ? generate(p.template(), logger)
+                    : generateAndStore(p.template(), p.storeKey(), logger);
+        };
+    }
 
-        if (rawValue.startsWith("${") && rawValue.endsWith("}")) {
-            String tokenPattern = rawValue.substring(2, rawValue.length() - 1);
-            String val = generateCombination(tokenPattern);
-            if (logger != null) logger.info(() -> String.format("✨ Generated %s -> %s", tokenPattern, val));
-            return val;
-        }
+    /**
+     * Starts a bulk generator for data-driven runs; {@code columns} is an ordered map such as a
+     * {@link java.util.LinkedHashMap} filled with {@code put("email", "email")}, {@code put("id", "number:8")}.
+     *
+     * @param columns column name to generator pattern, in column order
+     * @return generator producing rows in parallel
+     * @see BulkDataGenerator
+     */
+    public static BulkDataGenerator bulk(SequencedMap<String, String> columns) {
+        return new BulkDataGenerator(columns);
+    }
 
-        return rawValue;
+    private static Plan compile(String rawValue) {
+        if (rawValue.startsWith("${context:")) {
+            return new ContextPlan(rawValue.substring(10, rawValue.length() - 1));
+        }
+        if (rawValue.startsWith("${vault:")) {
+            return new VaultPlan(rawValue.substring(8, rawValue.length() - 1));
+        }
+        String inside = rawValue.substring(2, rawValue.length() - 1);
+        int eq = inside.indexOf('=');
+        if (eq >= 0) {
+            return new GeneratePlan(TokenTemplate.of(inside.substring(eq + 1).trim()), inside.substring(0, eq).trim());
+        }
+        return new GeneratePlan(TokenTemplate.of(inside), null);
     }
 
-    private static String resolveFromContext(String rawValue, Logger logger) {
-        String key = rawValue.substring(10, rawValue.length() - 1);
+    private static String resolveFromContext(String key, Logger logger) {
         String val = ScenarioContext.getString(key);
         if (logger != null) logger.info(() -> "📦 Using context value for key: " + key + " -> " + val);
         return val;
     }
 
-    private static String resolveFromVault(String rawValue, Logger logger) {
-        String secretKey = rawValue.substring(8, rawValue.length() - 1);
-        String val = "fetched-secret-" + secretKey; // placeholder
+    private static String resolveFromVault(String secretKey, Logger logger) {
+        String val = SecretStore.get(secretKey);
         if (logger != null) logger.info(() -> "🔑 Using vault secret for key: " + secretKey);
         return val;
     }
 
-    private static String resolveAndStore(String rawValue, Logger logger) {
-        String inside = rawValue.substring(2, rawValue.length() - 1);
-        String[] parts = inside.split("=", 2);
-        String key = parts[0].trim();
-        String tokenPattern = parts[1].trim();
-        String value = generateCombination(tokenPattern);
+    private static String generate(TokenTemplate template, Logger logger) {
+        String val = template.generate();
+        if (logger != null) logger.info(() -> String.format("✨ Generated %s -> %s", template.pattern(), val));
+        return val;
+    }
+
+    private static String generateAndStore(TokenTemplate template, String key, Logger logger) {
+        String value = template.generate();
         ScenarioContext.put(key, value);
         if (logger != null)
-            logger.info(() -> String.format("✨ Generated and saved %s for key %s -> %s", tokenPattern, key, value));
+            logger.info(() -> String.format("✨ Generated and saved %s for key %s -> %s", template.pattern(), key, value));
         return value;
     }
 
-    private static String generateCombination(String tokenPattern) {
-        String[] tokens = tokenPattern.split("\\+");
-        StringBuilder sb = new StringBuilder();
-        for (String token : tokens) sb.append(generateSingle(token.trim()));
-        return sb.toString();
-    }
-
-    /**
-     * Helper method to remove leading zero for fractional numbers (e.g., 0.5 -> .5).
-     * This extraction reduces the Cognitive Complexity of the calling method.
-     */
-    private static String formatFloatString(String floatStr) {
-        // Handle positive fractional numbers: 0.5 -> .5
-        if (floatStr.startsWith("0.") && floatStr.length() > 2) {
-            return floatStr.substring(1); // Removes the '0'
-        }
-
-        // Handle negative fractional numbers: -0.5 -> -.5
-        if (floatStr.startsWith("-0.")) {
-            return "-" + floatStr.substring(2); // Keeps the '-' and removes the '0'
-        }
-
-        return floatStr;
-    }
-
-    private static String generateSingle(String token) {
-        token = token.toLowerCase();
-
-        if (token.startsWith("date:")) {
-            return LocalDate.now().format(DateTimeFormatter.ofPattern(token.split(":", 2)[1]));
-        }
-        if (token.startsWith("futuredate:")) {
-            String[] parts = token.split(":");
-            int days = Integer.parseInt(parts[1]);
-            String fmt = parts.length > 2 ? parts[2] : "yyyy-MM-dd";
-            return LocalDate.now().plusDays(days).format(DateTimeFormatter.ofPattern(fmt));
-        }
-        if (token.startsWith("number:")) return randomNumeric(Integer.parseInt(token.split(":")[1]));
-        if (token.startsWith("string:")) return randomString(Integer.parseInt(token.split(":")[1]));
-
-        if (token.startsWith("float:")) {
-            String[] parts = token.split(":");
-            double max = Math.pow(10, Integer.parseInt(parts[1])) - 1;
-            int decimalPlaces = 2; // default
-            if (parts.length > 2) {
-                try {
-                    decimalPlaces = Integer.parseInt(parts[2]);
-                } catch (NumberFormatException e) {
-                    Hooks.getLogger().info(() -> "NumberFormatException");
-                }
-            }
-            double val = new SecureRandom().nextDouble() * (max - 1) + 1;
-
-            // Generate the BigDecimal, set scale, and strip trailing zeros
-            BigDecimal bd = BigDecimal.valueOf(val).setScale(decimalPlaces, RoundingMode.HALF_UP);
-            String floatStr = bd.stripTrailingZeros().toPlainString();
-
-            // Delegate complex formatting to the helper method
-            return formatFloatString(floatStr);
-        }
-
-        return switch (token) {
-            case "firstname" -> FAKER.name().firstName();
-            case "lastname" -> FAKER.name().lastName();
-            case "email" -> FAKER.internet().emailAddress();
-            case "phonenumber" -> FAKER.phoneNumber().cellPhone();
-            case "address" -> FAKER.address().fullAddress();
-            default -> throw new UnknownTokenException(token);
-        };
-    }
-
-    private static String randomNumeric(int digits) {
-        if (digits <= 0) {
-            return "";
-        }
-
-        StringBuilder sb = new StringBuilder();
-
-        // 1. Generate the first digit (must be 1-9)
-        sb.append(RANDOM.nextInt(9) + 1);
-
-        // 2. Generate the remaining digits (0 to digits - 1)
-        for (int i = 0; i < digits - 1; i++) {
-            sb.append(RANDOM.nextInt(10));
-        }
-
-        return sb.toString();
-    }
-
-    private static String randomString(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < length; i++) sb.append(chars.charAt(RANDOM.nextInt(chars.length())));
-        return sb.toString();
-    }
-
     public static class UnknownTokenException extends RuntimeException {
         public UnknownTokenException(String token) {
             super("Unknown token: " + token);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Single-pass classifier and coercer for DataTable string values.
+ * Recognises boolean, null, int, long, decimal and JSON object/array literals without regular
+ * expressions; integers are parsed in place and only JSON-looking values reach the JSON parser.
+ */
+public final class ValueTypes {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public enum Kind {
+        BOOLEAN, NULL, INT, LONG, DECIMAL, JSON, STRING
+    }
+
+    private ValueTypes() {
+        // utility class
+    }
+
+    /**
+     * Classifies a raw value, ignoring surrounding whitespace.
+     * Integers that do not fit in a long are reported as {@link Kind#STRING}.
+     *
+     * @param raw raw DataTable value
+     * @return detected kind; {@link Kind#NULL} for a null reference
+     */
+    public static Kind classify(String raw) {
+        if (raw == null) {
+            return Kind.NULL;
+        }
+        int start = 0;
+        int end = raw.length();
+        while (start < end && Character.isWhitespace(raw.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(raw.charAt(end - 1))) end--;
+        if (start == end) {
+            return Kind.STRING;
+        }
+
+        char first = raw.charAt(start);
+        char last = raw.charAt(end - 1);
+        int length = end - start;
+
+        if (length == 4 && (raw.regionMatches(true, start, "true", 0, 4))) return Kind.BOOLEAN;
+        if (length == 5 && (raw.regionMatches(true, start, "false", 0, 5))) return Kind.BOOLEAN;
+        if (length == 4 && (raw.regionMatches(true, start, "null", 0, 4))) return Kind.NULL;
+
+        if ((first == '{' && last == '}') || (first == '[' && last == ']')) {
+            return isBalanced(raw, start, end) ? Kind.JSON : Kind.STRING;
+        }
+        return classifyNumber(raw, start, end);
+    }
+
+    /**
+     * Best-effort type coercion for DataTable string values:
+     * - "true"/"false" -> boolean
+     * - "null" -> null
+     * - integer numbers -> Integer, or Long when outside the int range
+     * - decimal numbers -> Double
+     * - JSON object/array strings -> JsonNode
+     * - otherwise -> the raw String, untrimmed
+     *
+     * @param raw raw DataTable value
+     * @return coerced value
+     */
+    public static Object coerce(String raw) {
+        return switch (classify(raw)) {
+            case BOOLEAN -> Boolean.valueOf(raw.trim());
+            case NULL -> null;
+            case INT -> (int) parseLong(raw);
+            case LONG -> parseLong(raw);
+            case DECIMAL -> Double.parseDouble(raw.trim());
+            case JSON -> parseJson(raw);
+            case STRING -> raw;
+        };
+    }
+
+    public static boolean isInteger(String raw) {
+        Kind kind = classify(raw);
+        return kind == Kind.INT || kind == Kind.LONG;
+    }
+
+    public static boolean isNumeric(String raw) {
+        Kind kind = classify(raw);
+        return kind == Kind.INT || kind == Kind.LONG || kind == Kind.DECIMAL;
+    }
+
+    // Mirrors the former patterns [-+]?\d+ (integer) and [-+]?\d*\.\d+([eE][-+]?\d+)? (decimal)
+    private static Kind classifyNumber(String s, int start, int end) {
+        int i = start;
+        boolean negative = s.charAt(i) == '-';
+        if (negative || s.charAt(i) == '+') i++;
+
+        // Accumulated as a negative number, like Long.parseLong, so that Long.MIN_VALUE fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        int intDigits = 0;
+        long accumulated = 0;
+        boolean overflow = false;
+        while (i < end && isDigit(s.charAt(i))) {
+            int digit = s.charAt(i) - '0';
+            if (!overflow && (accumulated < limit / 10 || accumulated * 10 < limit + digit)) {
+                overflow = true;
+            } else if (!overflow) {
+                accumulated = accumulated * 10 - digit;
+            }
+            intDigits++;
+            i++;
+        }
+
+        if (i == end) {
+            if (intDigits == 0) return Kind.STRING;
+            if (overflow) return Kind.STRING;
+            long value = negative ? accumulated : -accumulated;
+            return (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) ? Kind.INT : Kind.LONG;
+        }
+
+        if (s.charAt(i) != '.') return Kind.STRING;
+        i++;
+        int fractionDigits = 0;
+        while (i < end && isDigit(s.charAt(i))) {
+            fractionDigits++;
+            i++;
+        }
+        if (fractionDigits == 0) return Kind.STRING;
+        if (i == end) return Kind.DECIMAL;
+
+        if (s.charAt(i) != 'e' && s.charAt(i) != 'E') return Kind.STRING;
+        i++;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+        int exponentDigits = 0;
+        while (i < end && isDigit(s.charAt(i))) {
+            exponentDigits++;
+            i++;
+        }
+        return (exponentDigits > 0 && i == end) ? Kind.DECIMAL : Kind.STRING;
+    }
+
+    // Cheap structural check: brackets balance outside of string literals
+    private static boolean isBalanced(String s, int start, int end) {
+        int depth = 0;
+        boolean inString = false;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (inString) {
+                if (c == '\\') i++;
+                else if (c == '"') inString = false;
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth < 0) return false;
+                }
+                default -> {
+                    // other characters do not affect nesting
+                }
+            }
+        }
+        return depth == 0 && !inString;
+    }
+
+    private static long parseLong(String raw) {
+        int start = 0;
+        int end = raw.length();
+        while (Character.isWhitespace(raw.charAt(start))) start++;
+        while (Character.isWhitespace(raw.charAt(end - 1))) end--;
+
+        boolean negative = raw.charAt(start) == '-';
+        int i = (negative || raw.charAt(start) == '+') ? start + 1 : start;
+        long value = 0;
+        for (; i < end; i++) {
+            value = value * 10 - (raw.charAt(i) - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    private static Object parseJson(String raw) {
+        try {
+            return MAPPER.readTree(raw.trim());
+        } catch (IOException ignored) {
+            // fallback to string
+            return raw;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,148 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Polling wait with one deadline per action and exponential backoff.
+ * A probe is retried immediately, then after {@code ui.wait.initialPollMillis}, growing by
+ * {@code ui.wait.backoffFactor} up to {@code ui.wait.maxPollMillis}, until it succeeds or {@code ui.timeout}
+ * seconds have passed in total. Fast pages are therefore handled in a few milliseconds while slow ones are
+ * not hammered with driver calls. All settings are read per wait, so a {@link Config#reload()} applies to the
+ * next action; the timings also accept suffixed durations such as {@code 1500ms}.
+ *
+ * <p>With {@code ui.wait.readiness} set to {@code dom}, {@code network} or {@code both}, a probe only runs once
+ * the page is quiet: a small script (installed on first use per document) tracks DOM mutations and pending
+ * {@code fetch}/XHR calls, and the page counts as ready when no mutation happened for
+ * {@code ui.wait.quietMillis} and/or no request is in flight. Requests started before the script was
+ * installed on a document are not seen. Style changes the framework makes itself (element highlighting, which
+ * flags the element with {@code __qaOwnStyle}) do not count as mutations.</p>
+ */
+public final class WaitEngine {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_INITIAL_POLL = Duration.ofMillis(50);
+    private static final Duration DEFAULT_MAX_POLL = Duration.ofMillis(500);
+    private static final Duration DEFAULT_QUIET = Duration.ofMillis(100);
+
+    // Installs the observers once per document and reports whether the page is quiet
+    private static final String READY_SCRIPT = """
+            var w = window, quietMs = arguments[0], watchDom = arguments[1], watchNet = arguments[2];
+            if (!w.__qaReady) {
+              var s = w.__qaReady = { pending: 0, lastMutation: performance.now() };
+              new MutationObserver(function (records) {
+                for (var i = 0; i < records.length; i++) {
+                  var r = records[i];
+                  if (!(r.type === 'attributes' && r.attributeName === 'style' && r.target.__qaOwnStyle)) {
+                    s.lastMutation = performance.now();
+                    return;
+                  }
+                }
+              }).observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+              if (w.fetch) {
+                var f = w.fetch;
+                w.fetch = function () {
+                  s.pending++;
+                  return f.apply(this, arguments).finally(function () { s.pending--; });
+                };
+              }
+              var send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                s.pending++;
+                this.addEventListener('loadend', function () { s.pending--; }, { once: true });
+                return send.apply(this, arguments);
+              };
+            }
+            var st = w.__qaReady;
+            if (document.readyState === 'loading') return false;
+            if (watchNet && st.pending > 0) return false;
+            return !watchDom || performance.now() - st.lastMutation >= quietMs;
+            """;
+
+    private WaitEngine() {
+        // utility class
+    }
+
+    /**
+     * Outcome of a successful wait.
+     *
+     * @param value   the probe's result
+     * @param polls   number of probe attempts
+     * @param elapsed milliseconds spent waiting
+     */
+    public record Result<T>(T value, int polls, long elapsed) {
+    }
+
+    /**
+     * Polls {@code probe} until it returns a non-null value, within the configured deadline.
+     * {@link WebDriverException}s thrown by the probe (stale, not found, not interactable…) count as "not yet";
+     * a lost session fails immediately.
+     *
+     * @param driver      driver used for readiness checks
+     * @param description what is being waited for, used in the timeout message
+     * @param probe       returns the awaited value, or null if it is not there yet
+     * @return the probe's value with poll statistics
+     * @throws TimeoutException if the deadline passes; the last probe error is attached as cause
+     */
+    public static <T> Result<T> until(WebDriver driver, String description, Supplier<T> probe) {
+        long timeoutMillis = Config.getDuration("ui.timeout", DEFAULT_TIMEOUT, ChronoUnit.SECONDS).toMillis();
+        long maxPollMillis = Config.getDuration("ui.wait.maxPollMillis", DEFAULT_MAX_POLL).toMillis();
+        double backoffFactor = Math.max(1.0, Config.getDouble("ui.wait.backoffFactor", 1.5));
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long pause = Config.getDuration("ui.wait.initialPollMillis", DEFAULT_INITIAL_POLL).toMillis();
+        int polls = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            polls++;
+            try {
+                if (isReady(driver)) {
+                    T value = probe.get();
+                    if (value != null) {
+                        return new Result<>(value, polls, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                }
+            } catch (NoSuchSessionException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                lastError = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException(String.format("Timed out after %d ms (%d polls) waiting for %s",
+                        timeoutMillis, polls, description), lastError);
+            }
+            if (polls > 1) {
+                LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(pause)));
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    throw new TimeoutException("Interrupted while waiting for " + description);
+                }
+                pause = Math.min(maxPollMillis, (long) (pause * backoffFactor));
+            }
+        }
+    }
+
+    private static boolean isReady(WebDriver driver) {
+        String readiness = Config.get("ui.wait.readiness", "none").toLowerCase(Locale.ROOT);
+        boolean watchDom = readiness.equals("dom") || readiness.equals("both");
+        boolean watchNetwork = readiness.equals("network") || readiness.equals("both");
+        if ((!watchDom && !watchNetwork) || !(driver instanceof JavascriptExecutor js)) {
+            return true;
+        }
+        long quietMillis = Config.getDuration("ui.wait.quietMillis", DEFAULT_QUIET).toMillis();
+        return Boolean.TRUE.equals(js.executeScript(READY_SCRIPT, quietMillis, watchDom, watchNetwork));
+    }
+}
@@ -2,138 +2,189 @@ package utils;
 
 import exceptions.ElementNotFoundException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import com.qa.bdd.steps.Hooks;
 import org.testng.Assert;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class WebDriverUtils {
 
-    private static final int MAX_ATTEMPTS = 5;
-    private static final Logger logger = Hooks.getLogger();
+    private static final Logger FALLBACK_LOGGER = Logger.getLogger(WebDriverUtils.class.getName());
+    /** Usability check, scroll and highlight in one script; the highlight clears itself. */
+    private static final boolean BATCHED = Config.getBoolean("ui.batch.enabled", true);
+    private static final Duration DEFAULT_HIGHLIGHT = Duration.ofSeconds(1);
 
     private WebDriverUtils() {
         // utility
     }
 
+    // Resolved per call so that each scenario thread logs to its own scenario logger
+    private static Logger logger() {
+        Logger scenarioLogger = Hooks.getLogger();
+        return scenarioLogger != null ? scenarioLogger : FALLBACK_LOGGER;
+    }
+
     private static WebElement findElement(String locatorKey, boolean clickable) {
         String raw = LocatorUtils.getRaw(locatorKey);
         String resolvingMessage = String.format("🔍 Resolving locator: %s → %s", locatorKey, raw);
-        logger.info(resolvingMessage);
+        logger().info(resolvingMessage);
         var by = LocatorUtils.get(locatorKey);
+        WebDriver driver = DriverFactory.getDriver();
+        long highlightMillis = Config.getDuration("ui.highlightMillis", DEFAULT_HIGHLIGHT).toMillis();
 
-        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
-            try {
-                String attemptMessage = String.format("Attempt %d/%d to locate: %s",
-                        attempt, MAX_ATTEMPTS, locatorKey);
-                logger.log(Level.FINE, attemptMessage);
-
-                WebElement element = clickable
-                        ? WebDriverUtilsInternal.waitForElementClickable(by)
-                        : WebDriverUtilsInternal.waitForElement(by);
-
-                if (isUsable(element, locatorKey)) {
-                    WebDriverUtilsInternal.scrollToElement(element);
-                    WebDriverUtilsInternal.highlightElement(element);
-                    sleepSafe(Config.get("ui.actionDelay"));
-                    String foundMessage = String.format("✅ Found usable element for key: %s on attempt %d",
-                            locatorKey, attempt);
-                    logger.info(foundMessage);
-                    return element;
+        try {
+            WaitEngine.Result<WebElement> found = WaitEngine.until(driver, locatorKey, () -> {
+                List<WebElement> matches = driver.findElements(by);
+                if (matches.isEmpty()) {
+                    return null;
+                }
+                WebElement candidate = matches.get(0);
+                if (BATCHED) {
+                    return WebDriverUtilsInternal.prepareForAction(candidate, highlightMillis) ? candidate : null;
                 }
-            } catch (Exception e) {
-                String warningMessage = String.format("⚠️ Attempt %d failed for %s → By: %s | Error: %s",
-                        attempt, locatorKey, by, e.getMessage());
-                logger.log(Level.WARNING, warningMessage);
+                return isUsable(candidate, locatorKey) ? candidate : null;
+            });
+            WebElement element = found.value();
+            if (!BATCHED) {
+                WebDriverUtilsInternal.scrollToElement(element);
+                WebDriverUtilsInternal.highlightElement(element);
             }
-            sleepSafe(Config.get("ui.retryDelay"));
+            String foundMessage = String.format("✅ Found usable element for key: %s after %d poll(s) in %d ms",
+                    locatorKey, found.polls(), found.elapsed());
+            logger().info(foundMessage);
+            return element;
+        } catch (TimeoutException e) {
+            String failMessage = String.format("❌ Could not locate usable %selement: %s → %s | %s",
+                    clickable ? "clickable " : "", locatorKey, raw, e.getMessage());
+            logger().log(Level.SEVERE, failMessage);
+            throw new ElementNotFoundException(failMessage, e);
         }
-
-        String failMessage = String.format("❌ Could not locate usable element after %d attempts: %s → %s",
-                MAX_ATTEMPTS, locatorKey, raw);
-        logger.log(Level.SEVERE, failMessage);
-        throw new ElementNotFoundException(failMessage);
     }
 
     private static boolean isUsable(WebElement element, String locatorKey) {
-        if (element == null) {
-            return false;
-        }
         if (!element.isDisplayed()) {
-            String notDisplayedMessage = String.format("⚠️ Element found but not displayed: %s", locatorKey);
-            logger.log(Level.WARNING, notDisplayedMessage);
+            logger().log(Level.FINE, () -> String.format("⚠️ Element found but not displayed: %s", locatorKey));
             return false;
         }
         if (!element.isEnabled()) {
-            String notEnabledMessage = String.format("⚠️ Element found but not enabled: %s", locatorKey);
-            logger.log(Level.WARNING, notEnabledMessage);
+            logger().log(Level.FINE, () -> String.format("⚠️ Element found but not enabled: %s", locatorKey));
             return false;
         }
         return true;
     }
 
-    private static void sleepSafe(String millisString) {
-        try {
-            Thread.sleep(Long.parseLong(millisString));
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            String interruptedMessage = String.format("Sleep interrupted: %s", ie.getMessage());
-            logger.log(Level.WARNING, interruptedMessage);
+    private static void clearHighlight(WebElement element) {
+        if (!BATCHED) {
+            WebDriverUtilsInternal.removeHighlight(element);
         }
     }
 
     // ==== Public Actions ====
 
+    /**
+     * Types into several fields with a single script call: fields the browser can locate itself (css, xpath, id,
+     * name, className, tagName) are resolved in the script, others are located first. Values are set through the
+     * native value setter with input/change events, so framework-bound forms see the change.
+     *
+     * @param valuesByLocatorKey locator key to text, in fill order
+     */
+    public static void fillForm(Map<String, String> valuesByLocatorKey) {
+        WebDriver driver = DriverFactory.getDriver();
+        List<String> problems = new ArrayList<>();
+        logger().info(() -> "📝 Filling form fields: " + valuesByLocatorKey.keySet());
+
+        try {
+            WaitEngine.Result<Boolean> filled = WaitEngine.until(driver, "form " + valuesByLocatorKey.keySet(), () -> {
+                List<Map<String, Object>> fields = new ArrayList<>();
+                for (Map.Entry<String, String> e : valuesByLocatorKey.entrySet()) {
+                    Map<String, Object> field = new HashMap<>();
+                    field.put("key", e.getKey());
+                    field.put("text", e.getValue() == null ? "" : e.getValue());
+                    LocatorUtils.ScriptLocator locator = LocatorUtils.scriptLocator(e.getKey());
+                    if (locator != null) {
+                        field.put("type", locator.type());
+                        field.put("value", locator.value());
+                    } else {
+                        List<WebElement> matches = driver.findElements(LocatorUtils.get(e.getKey()));
+                        if (matches.isEmpty()) {
+                            problems.clear();
+                            problems.add(e.getKey() + ": not found");
+                            return null;
+                        }
+                        field.put("element", matches.get(0));
+                    }
+                    fields.add(field);
+                }
+                problems.clear();
+                problems.addAll(WebDriverUtilsInternal.fillFields(fields));
+                return problems.isEmpty() ? Boolean.TRUE : null;
+            });
+            logger().info(() -> String.format("✅ Filled %d field(s) after %d poll(s) in %d ms",
+                    valuesByLocatorKey.size(), filled.polls(), filled.elapsed()));
+        } catch (TimeoutException e) {
+            String failMessage = String.format("❌ Could not fill form: %s | %s", problems, e.getMessage());
+            logger().log(Level.SEVERE, failMessage);
+            throw new ElementNotFoundException(failMessage, e);
+        }
+    }
+
     public static void type(String locatorKey, String value) {
         WebElement element = findElement(locatorKey, true);
         element.clear();
         element.sendKeys(value);
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
     }
 
     public static void click(String locatorKey) {
         WebElement element = findElement(locatorKey, true);
         element.click();
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
     }
 
     public static void jsClick(String locatorKey) {
         WebElement element = findElement(locatorKey, true);
         String clickMessage = String.format("Performing JS click on: %s", locatorKey);
-        logger.log(Level.INFO, clickMessage);
+        logger().log(Level.INFO, clickMessage);
         JavascriptExecutor js = (JavascriptExecutor) DriverFactory.getDriver();
         js.executeScript("arguments[0].click();", element);
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
     }
 
     public static void jsSendKeys(String locatorKey, String value) {
         WebElement element = findElement(locatorKey, true);
         String sendKeysMessage = String.format("Performing JS sendKeys on: %s with value: %s",
                 locatorKey, value);
-        logger.log(Level.INFO, sendKeysMessage);
+        logger().log(Level.INFO, sendKeysMessage);
         JavascriptExecutor js = (JavascriptExecutor) DriverFactory.getDriver();
         js.executeScript("arguments[0].value = arguments[1];", element, value);
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
     }
 
     public static void mouseOver(String locatorKey) {
         WebElement element = findElement(locatorKey, false);
         WebDriverUtilsInternal.mouseOver(element);
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
     }
 
     public static void doubleClick(String locatorKey) {
         WebElement element = findElement(locatorKey, true);
         WebDriverUtilsInternal.doubleClick(element);
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
     }
 
     public static void verifyText(String locatorKey, String expectedText) {
         WebElement element = findElement(locatorKey, false);
         String actualText = element.getText();
-        WebDriverUtilsInternal.removeHighlight(element);
+        clearHighlight(element);
 
         Assert.assertEquals(actualText, expectedText,
                 String.format("Text mismatch for element '%s'. Expected: '%s', Actual: '%s'",
@@ -141,6 +192,6 @@ public class WebDriverUtils {
 
         String successMessage = String.format("✅ Text verified for %s: %s",
                 locatorKey, actualText);
-        logger.log(Level.INFO, successMessage);
+        logger().log(Level.INFO, successMessage);
     }
 }
\ No newline at end of file
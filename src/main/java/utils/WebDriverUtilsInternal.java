@@ -1,13 +1,78 @@
 package utils;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 public class WebDriverUtilsInternal {
-    private static final int DEFAULT_TIMEOUT = 10;
+
+    // Visibility + enabled check, scroll and a self-clearing highlight in one round trip. __qaOwnStyle keeps the
+    // highlight's style mutations out of WaitEngine's DOM quiet window; it is cleared once they are delivered
+    private static final String PREPARE_SCRIPT = """
+            var el = arguments[0], highlightMs = arguments[1];
+            var style = window.getComputedStyle(el);
+            var visible = !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)
+                && style.visibility !== 'hidden' && style.display !== 'none';
+            if (!visible || el.disabled) return false;
+            el.scrollIntoView(true);
+            if (highlightMs > 0) {
+              var previous = el.style.border;
+              el.__qaOwnStyle = true;
+              el.style.border = '3px solid red';
+              setTimeout(function () {
+                el.style.border = previous;
+                setTimeout(function () { el.__qaOwnStyle = false; }, 0);
+              }, highlightMs);
+            }
+            return true;
+            """;
+
+    // Resolves every field, and only when all are usable sets their values with input/change events
+    private static final String FILL_SCRIPT = """
+            var fields = arguments[0], problems = [], elements = [];
+            function resolve(f) {
+              if (f.element) return f.element;
+              switch (f.type) {
+                case 'css': return document.querySelector(f.value);
+                case 'id': return document.getElementById(f.value);
+                case 'name': return document.getElementsByName(f.value)[0] || null;
+                case 'classname': return document.getElementsByClassName(f.value)[0] || null;
+                case 'tagname': return document.getElementsByTagName(f.value)[0] || null;
+                case 'xpath': return document.evaluate(f.value, document, null,
+                    XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+              }
+              return null;
+            }
+            function usable(el) {
+              var style = window.getComputedStyle(el);
+              return !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)
+                  && style.visibility !== 'hidden' && !el.disabled && !el.readOnly;
+            }
+            for (var i = 0; i < fields.length; i++) {
+              var el = resolve(fields[i]);
+              if (!el) problems.push(fields[i].key + ': not found');
+              else if (!usable(el)) problems.push(fields[i].key + ': not visible or not editable');
+              elements.push(el);
+            }
+            if (problems.length) return problems;
+            for (var j = 0; j < elements.length; j++) {
+              var e = elements[j], v = fields[j].text;
+              e.scrollIntoView({ block: 'center' });
+              e.focus();
+              if (e.isContentEditable) {
+                e.textContent = v;
+              } else {
+                var proto = e instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                    : e instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;
+                Object.getOwnPropertyDescriptor(proto, 'value').set.call(e, v);
+              }
+              e.dispatchEvent(new Event('input', { bubbles: true }));
+              e.dispatchEvent(new Event('change', { bubbles: true }));
+              e.blur();
+            }
+            return problems;
+            """;
 
     private WebDriverUtilsInternal() {
         // utility
@@ -17,19 +82,6 @@ public class WebDriverUtilsInternal {
         return DriverFactory.getDriver();
     }
 
-    /** Always uses DEFAULT_TIMEOUT internally */
-    private static WebDriverWait getWait() {
-        return new WebDriverWait(getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
-    }
-
-    public static WebElement waitForElement(By locator) {
-        return getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
-    }
-
-    public static WebElement waitForElementClickable(By locator) {
-        return getWait().until(ExpectedConditions.elementToBeClickable(locator));
-    }
-
     public static void scrollToElement(WebElement element) {
         ((JavascriptExecutor) getDriver())
                 .executeScript("arguments[0].scrollIntoView(true);", element);
@@ -37,12 +89,36 @@ public class WebDriverUtilsInternal {
 
     public static void highlightElement(WebElement element) {
         ((JavascriptExecutor) getDriver())
-                .executeScript("arguments[0].style.border='3px solid red'", element);
+                .executeScript("arguments[0].__qaOwnStyle = true; arguments[0].style.border='3px solid red'", element);
     }
 
     public static void removeHighlight(WebElement element) {
         ((JavascriptExecutor) getDriver())
-                .executeScript("arguments[0].style.border=''", element);
+                .executeScript("var el = arguments[0]; el.__qaOwnStyle = true; el.style.border='';"
+                        + " setTimeout(function () { el.__qaOwnStyle = false; }, 0);", element);
+    }
+
+    /**
+     * Checks that the element is visible and enabled, scrolls it into view and highlights it for
+     * {@code highlightMillis}, all in one script call.
+     *
+     * @return true if the element is usable
+     */
+    public static boolean prepareForAction(WebElement element, long highlightMillis) {
+        return Boolean.TRUE.equals(((JavascriptExecutor) getDriver())
+                .executeScript(PREPARE_SCRIPT, element, highlightMillis));
+    }
+
+    /**
+     * Fills several fields in one script call. Each field map holds {@code key}, {@code text} and either
+     * {@code type}/{@code value} (resolved in the browser) or {@code element}.
+     *
+     * @return problems that prevented filling (nothing is filled then); empty on success
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> fillFields(List<Map<String, Object>> fields) {
+        Object result = ((JavascriptExecutor) getDriver()).executeScript(FILL_SCRIPT, fields);
+        return result instanceof List<?> list ? (List<String>) list : List.of();
     }
 
     public static void mouseOver(WebElement element) {
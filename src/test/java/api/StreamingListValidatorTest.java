@@ -0,0 +1,117 @@
+package api;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StreamingListValidatorTest {
+
+    private static final String BODY = """
+            [ {"id": 1, "name": "alpha", "price": 1.0, "data": {"tags": [{"name": "x"}, {"name": "y"}]}},
+              {"id": 2, "name": "beta", "price": 2, "data": null},
+              {"id": 3, "name": "", "extra": [] } ]
+            """;
+
+    @Test
+    public void indexedKeysAcceptLeadingDotsAndNestedIndexes() throws IOException {
+        List<String> failures = validate(
+                row("[0].id", "1"),
+                row("[0]data.tags[1].name", "y"),
+                row("[0].data.tags[0].name", "x"),
+                row("[ 1 ].name", "beta"));
+        Assert.assertEquals(failures, List.of());
+    }
+
+    @Test
+    public void wholeElementIsComparedAsJson() throws IOException {
+        List<String> failures = validate(row("[2].extra", "[]"), row("[1]", "__exists__"));
+        Assert.assertEquals(failures, List.of());
+    }
+
+    @Test
+    public void valuesAreComparedAsExactText() throws IOException {
+        Assert.assertEquals(validate(row("[0].price", "1.0"), row("[1].price", "2")), List.of());
+        List<String> failures = validate(row("[0].price", "1"));
+        Assert.assertEquals(failures.size(), 1);
+        Assert.assertTrue(failures.get(0).startsWith("'[0].price' at index 0"), failures.get(0));
+    }
+
+    @Test
+    public void keywordsTreatNullAsAbsent() throws IOException {
+        Assert.assertEquals(validate(
+                row("[1].data", "__not_exists__"),
+                row("[1].missing", "__not_exists__"),
+                row("[0].data.tags", "__notempty__"),
+                row("[*].id", "__exists__")), List.of());
+        Assert.assertEquals(validate(row("[*].name", "__notempty__")).size(), 1);
+        Assert.assertEquals(validate(row("[*].extra", "__exists__")).size(), 2);
+    }
+
+    @Test
+    public void indexesBeyondTheListAreAbsent() throws IOException {
+        List<String> failures = validate(row("[5].id", "1"), row("[5].id", "__not_exists__"));
+        Assert.assertEquals(failures, List.of("'[5].id' at index 5: expected '1', but it was absent"));
+    }
+
+    @Test
+    public void sizeChecks() throws IOException {
+        Assert.assertEquals(validate(row("size", "3"), row("SIZE", ">=3"), row("size", "<4"),
+                row("size", " >0 "), row("size", "__notempty__")), List.of());
+        Assert.assertEquals(validate(row("size", "<=2")),
+                List.of("Expected list size <=2, but it was 3."));
+    }
+
+    @Test
+    public void emptyValueCellIsAnEmptyString() throws IOException {
+        Assert.assertEquals(validate(row("[2].name", null)), List.of());
+        Assert.assertEquals(validate(row("[0].name", null)).size(), 1);
+    }
+
+    @Test
+    public void invalidKeysAreRejected() {
+        Assert.expectThrows(IllegalArgumentException.class, () -> validator(row("data.id", "1")));
+        Assert.expectThrows(IllegalArgumentException.class, () -> validator(row("[].id", "1")));
+        Assert.expectThrows(IllegalArgumentException.class, () -> validator(row(" ", "1")));
+        Assert.expectThrows(IllegalArgumentException.class, () -> validator(row(null, "1")));
+        Assert.expectThrows(IllegalArgumentException.class, () -> validator(row("size", "")));
+    }
+
+    @Test
+    public void nonArrayBodies() throws IOException {
+        Assert.assertEquals(validator(row("size", "0")).validate(stream("{\"id\": 1}")),
+                List.of("Expected JSON response to be a list, but it was not."));
+        Assert.assertEquals(StreamingListValidator.count(stream("{\"id\": 1}")), -1L);
+        Assert.assertEquals(StreamingListValidator.count(stream(BODY)), 3L);
+        Assert.assertEquals(StreamingListValidator.count(stream("[]")), 0L);
+    }
+
+    @SafeVarargs
+    private static List<String> validate(Map<String, String>... rows) throws IOException {
+        return validator(rows).validate(stream(BODY));
+    }
+
+    @SafeVarargs
+    private static StreamingListValidator validator(Map<String, String>... rows) {
+        return new StreamingListValidator(new ArrayList<>(List.of(rows)));
+    }
+
+    // HashMap, because DataTable cells may be null
+    private static Map<String, String> row(String key, String value) {
+        Map<String, String> row = new HashMap<>();
+        row.put("key", key);
+        row.put("value", value);
+        return row;
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import api.PayloadOverwriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload building with the cached template tree and compiled override paths ({@link PayloadOverwriter}) against
+ * the previous approach of reading the resource, parsing it and compiling every path on each call.
+ *
+ * <pre>
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *       -Dexec.args="PayloadTemplateBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadTemplateBenchmark {
+
+    private static final String FILE = "create_user.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Configuration CONF = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(Option.DEFAULT_PATH_LEAF_TO_NULL, Option.SUPPRESS_EXCEPTIONS)
+            .build();
+
+    private final Map<String, String> overrides = new LinkedHashMap<>();
+
+    public PayloadTemplateBenchmark() {
+        overrides.put("$.name", "Jane Roe");
+        overrides.put("$.email", "jane.roe@example.com");
+        overrides.put("$.address.city", "Boston");
+        overrides.put("$.address.zip", "02108");
+    }
+
+    @Benchmark
+    public String cachedTemplate() {
+        return PayloadOverwriter.buildPayload(FILE, overrides);
+    }
+
+    @Benchmark
+    public String parsePerCall() throws IOException {
+        try (InputStream is = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream("payloads/" + FILE)) {
+            JsonNode base = MAPPER.readTree(is);
+            DocumentContext ctx = JsonPath.using(CONF).parse(base);
+            overrides.forEach((path, value) -> ctx.set(path, value));
+            return MAPPER.writeValueAsString(ctx.<JsonNode>json());
+        }
+    }
+}
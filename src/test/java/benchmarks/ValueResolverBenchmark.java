@@ -0,0 +1,104 @@
+package benchmarks;
+
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ValueResolver;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token resolution with compiled, cached {@link ValueResolver} plans against the previous implementation that
+ * re-parsed every token, built a formatter per call and allocated a {@code SecureRandom} for {@code float:}.
+ *
+ * <pre>
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *       -Dexec.args="ValueResolverBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueResolverBenchmark {
+
+    private static final Faker FAKER = new Faker();
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    @Param({
+            "${number:6}",
+            "${string:8}",
+            "${futuredate:5:yyyy-MM-dd}",
+            "${float:4:2}",
+            "${firstname}",
+            "${email}",
+            "${firstname+number:4}"
+    })
+    public String token;
+
+    @Benchmark
+    public String compiledPlan() {
+        return ValueResolver.resolve(token);
+    }
+
+    @Benchmark
+    public String parsePerCall() {
+        String[] parts = token.substring(2, token.length() - 1).split("\\+");
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            sb.append(legacyGenerate(part.trim()));
+        }
+        return sb.toString();
+    }
+
+    // Generator part of the former ValueResolver.generateSingle
+    private static String legacyGenerate(String token) {
+        token = token.toLowerCase();
+        if (token.startsWith("futuredate:")) {
+            String[] parts = token.split(":");
+            String fmt = parts.length > 2 ? parts[2] : "yyyy-MM-dd";
+            return LocalDate.now().plusDays(Integer.parseInt(parts[1])).format(DateTimeFormatter.ofPattern(fmt));
+        }
+        if (token.startsWith("number:")) {
+            int digits = Integer.parseInt(token.split(":")[1]);
+            StringBuilder sb = new StringBuilder().append(RANDOM.nextInt(9) + 1);
+            for (int i = 0; i < digits - 1; i++) sb.append(RANDOM.nextInt(10));
+            return sb.toString();
+        }
+        if (token.startsWith("string:")) {
+            int length = Integer.parseInt(token.split(":")[1]);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < length; i++) sb.append(LETTERS.charAt(RANDOM.nextInt(LETTERS.length())));
+            return sb.toString();
+        }
+        if (token.startsWith("float:")) {
+            String[] parts = token.split(":");
+            double max = Math.pow(10, Integer.parseInt(parts[1])) - 1;
+            int decimalPlaces = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : 2;
+            double val = new SecureRandom().nextDouble() * (max - 1) + 1;
+            return BigDecimal.valueOf(val).setScale(decimalPlaces, RoundingMode.HALF_UP)
+                    .stripTrailingZeros().toPlainString();
+        }
+        return switch (token) {
+            case "firstname" -> FAKER.name().firstName();
+            case "email" -> FAKER.internet().emailAddress();
+            default -> throw new IllegalArgumentException("Unknown token: " + token);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.ValueTypes;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataTable value coercion with the single-pass {@link ValueTypes} classifier against the previous
+ * regex-based {@code coerceType}, over a typical mix of table cells.
+ *
+ * <pre>
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *       -Dexec.args="ValueTypesBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueTypesBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String[] values = {
+            "true", "null", "42", "9999999999", "-17", "12.50", "1.5e3",
+            "{\"a\":1}", "[1,2]", "John Doe", "2024-01-01", "john@example.com"
+    };
+
+    @Benchmark
+    public void singlePass(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(ValueTypes.coerce(value));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(legacyCoerce(value));
+        }
+    }
+
+    // The coerceType implementation ValueTypes replaced
+    private static Object legacyCoerce(String raw) {
+        String t = raw.trim();
+        if (t.equalsIgnoreCase("true") || t.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(t);
+        }
+        if (t.equalsIgnoreCase("null")) {
+            return null;
+        }
+        if (t.matches("[-+]?\\d+")) {
+            try {
+                long value = Long.parseLong(t);
+                return (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) ? (int) value : value;
+            } catch (NumberFormatException ignored) {
+                return raw;
+            }
+        }
+        if (t.matches("[-+]?\\d*\\.\\d+([eE][-+]?\\d+)?")) {
+            return Double.parseDouble(t);
+        }
+        if ((t.startsWith("{") && t.endsWith("}")) || (t.startsWith("[") && t.endsWith("]"))) {
+            try {
+                return MAPPER.readTree(t);
+            } catch (IOException ignored) {
+                return raw;
+            }
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,81 @@
+package metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void valuesBelowLinearLimitHaveTheirOwnBucket() {
+        for (long micros = 0; micros < 128; micros++) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            Assert.assertEquals(bucket, (int) micros);
+            Assert.assertEquals(LatencyHistogram.upperBoundOf(bucket), micros);
+        }
+    }
+
+    @Test
+    public void everyValueLiesWithinItsBucketAndRelativeErrorIsBounded() {
+        long[] samples = {128, 129, 255, 256, 257, 1_000, 4_095, 4_096, 65_537, 1_000_000, 123_456_789,
+                Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (long micros : samples) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            long lower = LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+            Assert.assertTrue(lower <= micros && micros <= upper,
+                    micros + " outside bucket " + bucket + " [" + lower + ", " + upper + "]");
+            Assert.assertTrue((upper - lower) / (double) lower < 1.0 / 64, "bucket too wide for " + micros);
+        }
+    }
+
+    @Test
+    public void bucketsAreContiguous() {
+        long previousUpper = LatencyHistogram.upperBoundOf(127);
+        for (int bucket = 128; bucket < 128 + 20 * 64; bucket++) {
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            Assert.assertEquals(LatencyHistogram.bucketOf(previousUpper + 1), bucket);
+            Assert.assertEquals(LatencyHistogram.bucketOf(upper), bucket);
+            previousUpper = upper;
+        }
+    }
+
+    @Test
+    public void percentilesOfUniformSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        Assert.assertEquals(histogram.count(), 1000);
+        Assert.assertEquals(histogram.minMillis(), 1.0);
+        Assert.assertEquals(histogram.maxMillis(), 1000.0);
+        Assert.assertEquals(histogram.meanMillis(), 500.5, 1e-9);
+        assertWithinBucketError(histogram.percentileMillis(50), 500);
+        assertWithinBucketError(histogram.percentileMillis(90), 900);
+        assertWithinBucketError(histogram.percentileMillis(99), 990);
+        Assert.assertEquals(histogram.percentileMillis(100), 1000.0);
+    }
+
+    @Test
+    public void percentileNeverExceedsMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(1_000_001));
+        Assert.assertEquals(histogram.percentileMillis(50), 1000.001);
+        Assert.assertEquals(histogram.percentileMillis(99.9), 1000.001);
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.percentileMillis(99), 0.0);
+        Assert.assertEquals(histogram.minMillis(), 0.0);
+        Assert.assertEquals(histogram.meanMillis(), 0.0);
+    }
+
+    // Percentiles report the bucket's upper bound: never below the exact value, at most 1/64 above it
+    private static void assertWithinBucketError(double actualMillis, double expectedMillis) {
+        Assert.assertTrue(actualMillis >= expectedMillis && actualMillis <= expectedMillis * (1 + 1.0 / 64),
+                "expected ~" + expectedMillis + " ms but was " + actualMillis);
+    }
+}
@@ -0,0 +1,176 @@
+package runners;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import metrics.LoadMetrics;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+import utils.Config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replays tagged API scenarios as a load test.
+ * Enable with {@code mvn test -Pload-test}; N workers execute the selected pickles round-robin until
+ * the duration elapses or the iteration budget is spent, and a throughput/latency summary is written to
+ * {@code target/cucumber-reports/load-summary.json}.
+ *
+ * <p>System properties: {@code load.workers} (default 10), {@code load.durationSeconds} (default 60),
+ * {@code load.iterations} (total scenario executions; takes precedence over the duration when &gt; 0).
+ * Scenarios are selected with {@code -Dcucumber.filter.tags}, {@code @load} by default.</p>
+ *
+ * <p>With {@code -Dload.stubServer=true} the run is a self-check: {@code baseUri} is pointed at a local
+ * {@link StubServer}, and the test fails unless every execution passed and each stub request was recorded.</p>
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = "com/qa/bdd/steps",
+        plugin = {"summary"},
+        tags = "@load"
+)
+public class LoadTestRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadTestRunner.class.getName());
+    private static final Path SUMMARY_FILE = Paths.get("target/cucumber-reports/load-summary.json");
+
+    private final int workers = Integer.getInteger("load.workers", 10);
+    private final long durationSeconds = Long.getLong("load.durationSeconds", 60);
+    private final long iterations = Long.getLong("load.iterations", 0);
+    private final boolean useStubServer = Boolean.getBoolean("load.stubServer");
+
+    private final TestRunner lifecycle = new TestRunner();
+    private TestNGCucumberRunner testNGCucumberRunner;
+    private StubServer stubServer;
+
+    @BeforeSuite(alwaysRun = true)
+    public void cleanUpArtifacts() {
+        lifecycle.cleanUpArtifacts();
+    }
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass() throws IOException {
+        if (useStubServer) {
+            stubServer = StubServer.start();
+            System.setProperty("baseUri", stubServer.baseUri());
+            Config.reload();
+            LOGGER.info(() -> "🧪 Load test self-check against stub server " + stubServer.baseUri());
+        }
+        testNGCucumberRunner = new TestNGCucumberRunner(this.getClass());
+    }
+
+    @Test(groups = "cucumber", description = "Replays tagged scenarios as a load test")
+    public void runLoadTest() throws InterruptedException, IOException {
+        List<PickleWrapper> pickles = new ArrayList<>();
+        for (Object[] scenario : testNGCucumberRunner.provideScenarios()) {
+            pickles.add((PickleWrapper) scenario[0]);
+        }
+        if (pickles.isEmpty()) {
+            throw new SkipException("No scenarios matched the load-test tags");
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        AtomicLong remaining = new AtomicLong(iterations > 0 ? iterations : Long.MAX_VALUE);
+        AtomicLong next = new AtomicLong();
+        LongAdder executed = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        LOGGER.info(() -> String.format("🚀 Load test: %d scenarios, %d workers, %s",
+                pickles.size(), workers, iterations > 0 ? iterations + " iterations" : durationSeconds + "s"));
+
+        LoadMetrics.start();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                pool.submit(() -> {
+                    while (remaining.getAndDecrement() > 0 && (iterations > 0 || System.nanoTime() < deadline)) {
+                        PickleWrapper pickle = pickles.get((int) (next.getAndIncrement() % pickles.size()));
+                        if (!runScenario(pickle)) {
+                            failed.increment();
+                        }
+                        executed.increment();
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            LoadMetrics.stop();
+        }
+
+        writeSummary(executed.sum(), failed.sum());
+        if (stubServer != null) {
+            verifyAgainstStub(executed.sum(), failed.sum());
+        }
+    }
+
+    private void verifyAgainstStub(long executed, long failed) {
+        long recorded = (long) LoadMetrics.summary().get("requests");
+        Assert.assertTrue(executed > 0, "No scenario was executed");
+        Assert.assertEquals(failed, 0, "Scenarios failed against the stub server");
+        Assert.assertEquals(recorded, stubServer.requests(), "Recorded requests differ from requests served by the stub");
+    }
+
+    private boolean runScenario(PickleWrapper pickle) {
+        try {
+            testNGCucumberRunner.runScenario(pickle.getPickle());
+            return true;
+        } catch (SkipException e) {
+            return true;
+        } catch (Throwable t) {
+            LOGGER.log(Level.FINE, t, () -> "Scenario failed under load: " + pickle.getPickle().getName());
+            return false;
+        }
+    }
+
+    private void writeSummary(long executed, long failed) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("workers", workers);
+        summary.put("scenarioExecutions", executed);
+        summary.put("scenarioFailures", failed);
+        summary.putAll(LoadMetrics.summary());
+
+        Files.createDirectories(SUMMARY_FILE.getParent());
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(SUMMARY_FILE)) {
+            gson.toJson(summary, writer);
+        }
+        LOGGER.info(() -> String.format("✅ Load test finished: %d executions, %d failures, %s req/s → %s",
+                executed, failed, summary.get("requestsPerSecond"), SUMMARY_FILE));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (testNGCucumberRunner != null) {
+            testNGCucumberRunner.finish();
+        }
+        if (stubServer != null) {
+            stubServer.close();
+            System.clearProperty("baseUri");
+            Config.reload();
+        }
+    }
+}
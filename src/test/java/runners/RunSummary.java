@@ -0,0 +1,164 @@
+package runners;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-aggregated view of one Cucumber JSON report, written next to it as {@code <report>.summary.json}.
+ * The dashboard renders counts, charts, the run matrix and failure groups from these summaries alone and only
+ * fetches the full report when a scenario is opened. Status and duration rules match the dashboard's own:
+ * a scenario failed if any hook or step failed, and its duration is the sum of hook and step durations.
+ * Background elements are not counted as scenarios of their own: their hooks and steps are folded into the
+ * scenario element that follows them, so a failing Background fails that scenario.
+ *
+ * <pre>
+ * { "name", "url", "start", "durationMs",
+ *   "totals":    { "scenarios", "passed", "failed", "features", "passedFeatures" },
+ *   "features":  [ { "id", "name", "passed", "failed" } ],
+ *   "scenarios": [ { "ref": "featureIndex:elementIndex", "name", "featureId", "featureName",
+ *                    "status", "durationMs", "reason" } ] }
+ * </pre>
+ */
+final class RunSummary {
+
+    private RunSummary() {
+        // utility class
+    }
+
+    static JsonObject of(JsonArray features, String name, String url) {
+        JsonArray scenarios = new JsonArray();
+        Map<String, JsonObject> featureTotals = new LinkedHashMap<>();
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = Long.MIN_VALUE;
+        long longest = 0;
+        int passed = 0;
+
+        for (int fi = 0; fi < features.size(); fi++) {
+            JsonObject feature = features.get(fi).getAsJsonObject();
+            String featureName = string(feature, "name", "unknown");
+            String featureId = string(feature, "id", featureName);
+            JsonObject totals = featureTotals.computeIfAbsent(featureId, id -> newFeature(id, featureName));
+
+            JsonArray elements = feature.has("elements") ? feature.getAsJsonArray("elements") : new JsonArray();
+            JsonObject background = null;
+            for (int ei = 0; ei < elements.size(); ei++) {
+                JsonObject element = elements.get(ei).getAsJsonObject();
+                if ("background".equals(string(element, "type", ""))) {
+                    background = element;
+                    continue;
+                }
+                JsonObject scenario = summarize(background, element);
+                scenario.addProperty("ref", fi + ":" + ei);
+                scenario.addProperty("featureId", featureId);
+                scenario.addProperty("featureName", featureName);
+                scenarios.add(scenario);
+
+                boolean ok = "passed".equals(scenario.get("status").getAsString());
+                passed += ok ? 1 : 0;
+                increment(totals, ok ? "passed" : "failed");
+
+                long duration = scenario.get("durationMs").getAsLong();
+                longest = Math.max(longest, duration);
+                long start = background != null && startMillis(background) > 0
+                        ? startMillis(background) : startMillis(element);
+                if (start > 0) {
+                    firstStart = Math.min(firstStart, start);
+                    lastEnd = Math.max(lastEnd, start + duration);
+                }
+                background = null;
+            }
+        }
+
+        int passedFeatures = (int) featureTotals.values().stream()
+                .filter(f -> f.get("failed").getAsInt() == 0).count();
+        JsonObject totals = new JsonObject();
+        totals.addProperty("scenarios", scenarios.size());
+        totals.addProperty("passed", passed);
+        totals.addProperty("failed", scenarios.size() - passed);
+        totals.addProperty("features", featureTotals.size());
+        totals.addProperty("passedFeatures", passedFeatures);
+
+        JsonObject summary = new JsonObject();
+        summary.addProperty("name", name);
+        summary.addProperty("url", url);
+        summary.addProperty("start", firstStart == Long.MAX_VALUE ? 0 : firstStart);
+        summary.addProperty("durationMs", firstStart == Long.MAX_VALUE ? longest : lastEnd - firstStart);
+        summary.add("totals", totals);
+        JsonArray featureArray = new JsonArray();
+        featureTotals.values().forEach(featureArray::add);
+        summary.add("features", featureArray);
+        summary.add("scenarios", scenarios);
+        return summary;
+    }
+
+    // background is the Background element preceding the scenario, or null
+    private static JsonObject summarize(JsonObject background, JsonObject element) {
+        long durationNs = 0;
+        String reason = null;
+        boolean failed = false;
+        for (String part : new String[]{"before", "steps", "after"}) {
+            JsonArray items = new JsonArray();
+            if (background != null && background.has(part)) {
+                items.addAll(background.getAsJsonArray(part));
+            }
+            if (element.has(part)) {
+                items.addAll(element.getAsJsonArray(part));
+            }
+            for (JsonElement item : items) {
+                JsonObject result = item.getAsJsonObject().getAsJsonObject("result");
+                if (result == null) {
+                    continue;
+                }
+                durationNs += result.has("duration") ? result.get("duration").getAsLong() : 0;
+                if ("failed".equals(string(result, "status", ""))) {
+                    failed = true;
+                    if (reason == null && result.has("error_message")) {
+                        reason = result.get("error_message").getAsString().split("\n", 2)[0];
+                    }
+                }
+            }
+        }
+
+        JsonObject scenario = new JsonObject();
+        scenario.addProperty("name", string(element, "name", ""));
+        scenario.addProperty("status", failed ? "failed" : "passed");
+        scenario.addProperty("durationMs", durationNs / 1_000_000);
+        if (failed) {
+            scenario.addProperty("reason", reason != null ? reason : "Unknown Failure");
+        }
+        return scenario;
+    }
+
+    private static JsonObject newFeature(String id, String name) {
+        JsonObject feature = new JsonObject();
+        feature.addProperty("id", id);
+        feature.addProperty("name", name);
+        feature.addProperty("passed", 0);
+        feature.addProperty("failed", 0);
+        return feature;
+    }
+
+    private static void increment(JsonObject object, String key) {
+        object.addProperty(key, object.get(key).getAsInt() + 1);
+    }
+
+    private static long startMillis(JsonObject element) {
+        try {
+            return element.has("start_timestamp")
+                    ? Instant.parse(element.get("start_timestamp").getAsString()).toEpochMilli() : 0;
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static String string(JsonObject object, String key, String fallback) {
+        JsonElement value = object.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : fallback;
+    }
+}
@@ -0,0 +1,81 @@
+package runners;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP stub for load-test self-checks.
+ * Serves a fixed object list on {@code GET /objects} (the shape of the sample API) and 404 elsewhere,
+ * so the load-test pipeline can be exercised without any network access.
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final byte[] OBJECTS = ("[{\"id\":\"1\",\"name\":\"Google Pixel 6 Pro\","
+            + "\"data\":{\"color\":\"Cloudy White\",\"capacity\":\"128 GB\"}},"
+            + "{\"id\":\"2\",\"name\":\"Apple iPhone 12 Mini, 256GB, Blue\",\"data\":null}]")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder requests = new LongAdder();
+
+    private StubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts the stub on a free loopback port.
+     */
+    static StubServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        StubServer stub = new StubServer(server);
+        server.createContext("/", stub::handle);
+        server.setExecutor(stub.executor);
+        server.start();
+        return stub;
+    }
+
+    String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return number of requests served so far
+     */
+    long requests() {
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            boolean objects = "GET".equals(exchange.getRequestMethod())
+                    && "/objects".equals(exchange.getRequestURI().getPath());
+            if (!objects) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, OBJECTS.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(OBJECTS);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,28 +1,40 @@
 package runners;
 
+import api.ApiSpecLoader;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import metrics.TimingRollup;
+import secrets.SecretStore;
+import utils.AttachmentStorePlugin;
+import utils.DriverPool;
+import utils.LogFactory;
+import utils.Screenshots;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 /**
  * Main TestNG–Cucumber runner.
- * Cleans screenshots/log folders before running tests.
+ * Cleans screenshots/log folders, preloads API specs and prefetches vault secrets before running tests.
  */
 @CucumberOptions(
         features = "src/test/resources/features",
@@ -31,6 +43,7 @@ import java.util.stream.Stream;
                 "pretty",
                 "html:target/cucumber-reports/cucumber.html",
                 "json:target/cucumber-reports/json/cucumber.json",
+                "utils.AttachmentStorePlugin:target/cucumber-reports/json/cucumber.json",
                 "rerun:target/cucumber-reports/rerun/rerun.txt",
                 "timeline:target/threads-report/",
                 "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
@@ -42,9 +55,12 @@ public class TestRunner extends AbstractTestNGCucumberTests {
     private static final Logger LOGGER = Logger.getLogger(TestRunner.class.getName());
     private static final Path SCREENSHOT_DIR = Paths.get("target/screenshots");
     private static final Path LOG_DIR = Paths.get("logs");
+    private static final Path FEATURES_DIR = Paths.get("src/test/resources/features");
     private static final Path JSON_REPORT_SOURCE = Paths.get("target/cucumber-reports/json/cucumber.json");
+    private static final Path ATTACHMENT_SOURCE = JSON_REPORT_SOURCE.resolveSibling(AttachmentStorePlugin.STORE_DIR);
     private static final Path REPORT_DESTINATION_DIR = Paths.get("dashboard/json-files/");
     private static final Path INDEX_FILE_PATH = Paths.get("dashboard/json-files/index.json");
+    private static final String SUMMARY_SUFFIX = ".summary.json";
     private static final int MAX_REPORTS = 5;
 
     /**
@@ -65,7 +81,10 @@ public class TestRunner extends AbstractTestNGCucumberTests {
         LOGGER.info(() -> "🚀 Starting test suite cleanup…");
         cleanDirectory(SCREENSHOT_DIR);
         cleanDirectory(LOG_DIR);
+        cleanDirectory(ATTACHMENT_SOURCE);
         LOGGER.info(() -> "✅ Cleanup complete. Starting tests…");
+        ApiSpecLoader.preload();
+        SecretStore.prefetchFromFeatures(FEATURES_DIR);
     }
 
     /**
@@ -105,11 +124,19 @@ public class TestRunner extends AbstractTestNGCucumberTests {
     }
 
     /**
-     * Copies the new JSON report and rebuilds the index.json from all existing reports.
+     * Copies the new JSON report, writes its run summary and adds it to index.json.
      */
     @AfterSuite(alwaysRun = true)
     public void processReports() {
         LOGGER.info(() -> "📋 Starting report processing…");
+        LOGGER.info(() -> String.format("📊 API spec cache: %d specs, %d hits, %d misses",
+                ApiSpecLoader.size(), ApiSpecLoader.hits(), ApiSpecLoader.misses()));
+        DriverPool.shutdown();
+        LOGGER.info(() -> "🌐 Browser pool: " + DriverPool.stats());
+        Screenshots.awaitWrites(30, TimeUnit.SECONDS);
+        LogFactory.flush();
+        LOGGER.info(() -> "🗂 Scenario logs written to " + LogFactory.runLogFile()
+                + " (read with utils.RunLogReader list | cat <scenario> | grep <regex> [scenario])");
 
         if (!Files.exists(JSON_REPORT_SOURCE)) {
             LOGGER.warning(() -> "⚠️ JSON report not found at: " + JSON_REPORT_SOURCE);
@@ -123,16 +150,130 @@ public class TestRunner extends AbstractTestNGCucumberTests {
             String newFileName = "report_" + timestamp.replace(" ", "_") + ".json";
             Path newReportPath = REPORT_DESTINATION_DIR.resolve(newFileName);
 
-            Files.copy(JSON_REPORT_SOURCE, newReportPath, StandardCopyOption.REPLACE_EXISTING);
+            JsonArray features = copyReportWithTimings(JSON_REPORT_SOURCE, newReportPath);
             LOGGER.info(() -> "✅ JSON report copied and renamed to: " + newReportPath);
+            copyAttachments(ATTACHMENT_SOURCE, REPORT_DESTINATION_DIR.resolve(AttachmentStorePlugin.STORE_DIR));
 
-            rebuildIndexFile();
+            JsonObject summary = RunSummary.of(features, newFileName, reportUrl(newFileName));
+            Path summaryPath = REPORT_DESTINATION_DIR.resolve(summaryFileName(newFileName));
+            try (Writer writer = Files.newBufferedWriter(summaryPath)) {
+                new Gson().toJson(summary, writer);
+            }
+            LOGGER.info(() -> "📊 Run summary written to: " + summaryPath);
+
+            updateIndexFile(indexEntry(newFileName, summary));
 
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, e, () -> "❌ Failed to copy and rename JSON report.");
         }
     }
 
+    /**
+     * Copies the Cucumber JSON report, adding each feature's phase-timing roll-up as a "timings" field.
+     *
+     * @return the report's features, for the run summary
+     */
+    private JsonArray copyReportWithTimings(Path source, Path target) throws IOException {
+        JsonArray features;
+        try (Reader reader = Files.newBufferedReader(source)) {
+            features = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+        if (TimingRollup.isEmpty()) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            return features;
+        }
+
+        Gson gson = new Gson();
+        for (JsonElement element : features) {
+            JsonObject feature = element.getAsJsonObject();
+            if (!feature.has("uri")) {
+                continue;
+            }
+            Map<String, Object> timings = TimingRollup.forFeature(feature.get("uri").getAsString());
+            if (timings != null) {
+                feature.add("timings", gson.toJsonTree(timings));
+            }
+        }
+
+        try (Writer writer = Files.newBufferedWriter(target)) {
+            gson.toJson(features, writer);
+        }
+        return features;
+    }
+
+    /**
+     * Copies externalized attachments into the dashboard's store. Files are named by content hash, so ones
+     * already there from earlier runs are skipped.
+     */
+    private void copyAttachments(Path source, Path target) throws IOException {
+        if (Files.notExists(source)) {
+            return;
+        }
+        Files.createDirectories(target);
+        int copied = 0;
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Path destination = target.resolve(file.getFileName());
+                if (Files.notExists(destination)) {
+                    Files.copy(file, destination);
+                    copied++;
+                }
+            }
+        }
+        int total = copied;
+        LOGGER.info(() -> "📎 Copied " + total + " new attachments to " + target);
+    }
+
+    private static String reportUrl(String fileName) {
+        return REPORT_DESTINATION_DIR.getFileName().toString() + "/" + fileName;
+    }
+
+    private static String summaryFileName(String reportFileName) {
+        return reportFileName.substring(0, reportFileName.length() - ".json".length()) + SUMMARY_SUFFIX;
+    }
+
+    // The totals let the dashboard draw its trend from index.json alone
+    private static JsonObject indexEntry(String fileName, JsonObject summary) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("name", fileName);
+        entry.addProperty("url", reportUrl(fileName));
+        if (summary != null) {
+            entry.addProperty("summaryUrl", reportUrl(summaryFileName(fileName)));
+            entry.add("start", summary.get("start"));
+            entry.add("totals", summary.get("totals"));
+        }
+        return entry;
+    }
+
+    /**
+     * Puts the new run at the top of index.json and drops entries beyond the latest 5, without listing the
+     * report directory. Falls back to {@link #rebuildIndexFile()} when index.json is missing or unreadable.
+     */
+    private void updateIndexFile(JsonObject newEntry) {
+        JsonArray existing;
+        try (Reader reader = Files.newBufferedReader(INDEX_FILE_PATH)) {
+            existing = JsonParser.parseReader(reader).getAsJsonArray();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.info(() -> "ℹ️ index.json missing or unreadable, rebuilding it from " + REPORT_DESTINATION_DIR);
+            rebuildIndexFile();
+            return;
+        }
+
+        JsonArray reportList = new JsonArray();
+        reportList.add(newEntry);
+        String newName = newEntry.get("name").getAsString();
+        for (JsonElement element : existing) {
+            if (reportList.size() >= MAX_REPORTS) {
+                break;
+            }
+            if (element.isJsonObject() && element.getAsJsonObject().has("name")
+                    && !newName.equals(element.getAsJsonObject().get("name").getAsString())) {
+                reportList.add(element);
+            }
+        }
+        writeIndexFile(reportList, "✅ Updated index.json with the latest " + reportList.size() + " reports.");
+    }
+
     /**
      * Scans the report directory, sorts files by modification time, and writes
      * the latest 5 to index.json.
@@ -143,31 +284,50 @@ public class TestRunner extends AbstractTestNGCucumberTests {
             return;
         }
 
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
         JsonArray reportList = new JsonArray();
 
         try (Stream<Path> files = Files.list(REPORT_DESTINATION_DIR)) {
             var latestReports = files
-                    .filter(file -> file.toString().endsWith(".json") && !file.getFileName().toString().equals(INDEX_FILE_PATH.getFileName().toString()))
+                    .filter(file -> file.toString().endsWith(".json") && !file.toString().endsWith(SUMMARY_SUFFIX)
+                            && !file.getFileName().toString().equals(INDEX_FILE_PATH.getFileName().toString()))
                     .sorted(Comparator.comparingLong(this::getLastModifiedTime).reversed())
                     .limit(MAX_REPORTS)
                     .toList();
 
             for (Path file : latestReports) {
-                JsonObject reportObject = new JsonObject();
                 String fileName = file.getFileName().toString();
-                reportObject.addProperty("name", fileName);
-                reportObject.addProperty("url", REPORT_DESTINATION_DIR.getFileName().toString() + "/" + fileName);
-                reportList.add(reportObject);
+                reportList.add(indexEntry(fileName, readSummary(file.resolveSibling(summaryFileName(fileName)))));
             }
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, e, () -> "❌ Failed to scan report directory.");
             return;
         }
 
-        try (FileWriter writer = new FileWriter(INDEX_FILE_PATH.toFile())) {
-            gson.toJson(reportList, writer);
-            LOGGER.info(() -> "✅ Rebuilt index.json with the latest " + reportList.size() + " reports.");
+        writeIndexFile(reportList, "✅ Rebuilt index.json with the latest " + reportList.size() + " reports.");
+    }
+
+    private JsonObject readSummary(Path summaryPath) {
+        if (Files.notExists(summaryPath)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(summaryPath)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "⚠️ Could not read run summary " + summaryPath);
+            return null;
+        }
+    }
+
+    // Written to a temp file first so the dashboard never reads a half-written index
+    private void writeIndexFile(JsonArray reportList, String message) {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        Path tmp = INDEX_FILE_PATH.resolveSibling(INDEX_FILE_PATH.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                gson.toJson(reportList, writer);
+            }
+            Files.move(tmp, INDEX_FILE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info(() -> message);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, e, () -> "❌ Failed to write to index.json.");
         }
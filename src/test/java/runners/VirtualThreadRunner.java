@@ -0,0 +1,112 @@
+package runners;
+
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in runner for API-only suites that runs every Cucumber pickle on its own virtual thread.
+ * Enable with {@code mvn test -Pvirtual-threads}; the number of concurrently running scenarios is
+ * capped by {@code -Dvt.maxConcurrentScenarios} and requests per host by {@code http.maxConcurrentPerHost}.
+ *
+ * <p>A pickle runs start to finish on one virtual thread, so the ThreadLocals behind ScenarioContext,
+ * the scenario logger and DriverFactory stay isolated per scenario exactly as with platform threads.</p>
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = "com/qa/bdd/steps",
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/cucumber.html",
+                "json:target/cucumber-reports/json/cucumber.json",
+                "rerun:target/cucumber-reports/rerun/rerun.txt",
+                "timeline:target/threads-report/"
+        },
+        tags = "@api"
+)
+public class VirtualThreadRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadRunner.class.getName());
+    private static final int MAX_CONCURRENT_SCENARIOS = Integer.getInteger("vt.maxConcurrentScenarios", 200);
+
+    // Reuses the default runner's artefact cleanup and report processing
+    private final TestRunner lifecycle = new TestRunner();
+    private TestNGCucumberRunner testNGCucumberRunner;
+
+    @BeforeSuite(alwaysRun = true)
+    public void cleanUpArtifacts() {
+        lifecycle.cleanUpArtifacts();
+    }
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass() {
+        testNGCucumberRunner = new TestNGCucumberRunner(this.getClass());
+    }
+
+    @Test(groups = "cucumber", description = "Runs Cucumber scenarios on virtual threads")
+    public void runScenariosOnVirtualThreads() throws InterruptedException {
+        Object[][] scenarios = testNGCucumberRunner.provideScenarios();
+        Semaphore running = new Semaphore(MAX_CONCURRENT_SCENARIOS);
+        List<String> failures = new CopyOnWriteArrayList<>();
+
+        LOGGER.info(() -> String.format("🚀 Running %d scenarios on virtual threads (max %d concurrent)",
+                scenarios.length, MAX_CONCURRENT_SCENARIOS));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Object[] scenario : scenarios) {
+                PickleWrapper pickle = (PickleWrapper) scenario[0];
+                running.acquire();
+                executor.submit(() -> {
+                    try {
+                        runScenario(pickle, failures);
+                    } finally {
+                        running.release();
+                    }
+                });
+            }
+        } // close() waits for every scenario to finish
+
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " scenario(s) failed:\n" + String.join("\n", failures));
+        }
+        LOGGER.info(() -> "✅ All " + scenarios.length + " scenarios passed on virtual threads");
+    }
+
+    private void runScenario(PickleWrapper pickle, List<String> failures) {
+        String name = pickle.getPickle().getName();
+        try {
+            testNGCucumberRunner.runScenario(pickle.getPickle());
+        } catch (SkipException e) {
+            LOGGER.info(() -> "⏭️ Skipped scenario: " + name);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, t, () -> "❌ Scenario failed: " + name);
+            failures.add(name + " → " + t.getMessage());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (testNGCucumberRunner != null) {
+            testNGCucumberRunner.finish();
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void processReports() {
+        lifecycle.processReports();
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class RunLogTest {
+
+    private static final String RUN_ID = "run-20250101-000000";
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("runlog");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    @Test
+    public void scenariosReadBackFromInterleavedBlocks() throws IOException {
+        Path file = writeSample();
+        try (RunLogReader reader = RunLogReader.open(file)) {
+            assertSample(reader);
+        }
+    }
+
+    @Test
+    public void indexIsRebuiltFromHeadersWhenMissing() throws IOException {
+        Path file = writeSample();
+        Files.delete(dir.resolve(RUN_ID + RunLog.INDEX_SUFFIX));
+        try (RunLogReader reader = RunLogReader.open(file)) {
+            assertSample(reader);
+        }
+    }
+
+    @Test
+    public void tornLastBlockIsIgnoredWhenRebuilding() throws IOException {
+        Path file = writeSample();
+        Files.delete(dir.resolve(RUN_ID + RunLog.INDEX_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (RunLogReader reader = RunLogReader.open(file)) {
+            Assert.assertEquals(reader.read("Login_works-20250101-000001"), "first line\nsecond line\n");
+            Assert.assertEquals(reader.read("Checkout_fails-20250101-000002"), "checkout ✅ start\n");
+        }
+    }
+
+    @Test
+    public void scenariosResolveByUniquePart() throws IOException {
+        Path file = writeSample();
+        try (RunLogReader reader = RunLogReader.open(file)) {
+            Assert.assertEquals(reader.resolve("Checkout"), "Checkout_fails-20250101-000002");
+            Assert.assertEquals(reader.resolve("Login_works-20250101-000001"), "Login_works-20250101-000001");
+            Assert.expectThrows(IllegalArgumentException.class, () -> reader.resolve("20250101"));
+            Assert.expectThrows(IllegalArgumentException.class, () -> reader.resolve("Logout"));
+        }
+    }
+
+    @Test
+    public void latestPicksTheNewestRun() throws IOException {
+        writeSample();
+        Files.createFile(dir.resolve("run-20240101-000000" + RunLog.DATA_SUFFIX));
+        Assert.assertEquals(RunLogReader.latest(dir), dir.resolve(RUN_ID + RunLog.DATA_SUFFIX));
+    }
+
+    // Two scenarios, interleaved, with non-ASCII text and one scenario spread over two blocks
+    private Path writeSample() throws IOException {
+        try (RunLog log = RunLog.open(dir, RUN_ID, 1)) {
+            log.append("Login_works-20250101-000001", "first line\n");
+            log.append("Checkout_fails-20250101-000002", "checkout ✅ start\n");
+            log.append("Login_works-20250101-000001", "second line\n");
+            log.append("Checkout_fails-20250101-000002", "checkout [SEVERE] ❌ boom\n".repeat(50));
+            return log.file();
+        }
+    }
+
+    private static void assertSample(RunLogReader reader) {
+        Assert.assertEquals(List.copyOf(reader.scenarios()),
+                List.of("Login_works-20250101-000001", "Checkout_fails-20250101-000002"));
+        Assert.assertEquals(reader.read("Login_works-20250101-000001"), "first line\nsecond line\n");
+        Assert.assertEquals(reader.read("Checkout_fails-20250101-000002"),
+                "checkout ✅ start\n" + "checkout [SEVERE] ❌ boom\n".repeat(50));
+        Assert.assertEquals(reader.grep("Checkout_fails-20250101-000002", Pattern.compile("SEVERE")).size(), 50);
+        Assert.assertEquals(reader.read("unknown"), "");
+    }
+}
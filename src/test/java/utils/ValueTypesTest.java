@@ -0,0 +1,90 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ValueTypesTest {
+
+    @Test
+    public void integersAreIntUntilTheyLeaveTheIntRange() {
+        Assert.assertEquals(ValueTypes.classify("0"), ValueTypes.Kind.INT);
+        Assert.assertEquals(ValueTypes.classify(String.valueOf(Integer.MAX_VALUE)), ValueTypes.Kind.INT);
+        Assert.assertEquals(ValueTypes.classify(String.valueOf(Integer.MIN_VALUE)), ValueTypes.Kind.INT);
+        Assert.assertEquals(ValueTypes.classify("2147483648"), ValueTypes.Kind.LONG);
+        Assert.assertEquals(ValueTypes.classify("-2147483649"), ValueTypes.Kind.LONG);
+    }
+
+    @Test
+    public void longBoundariesAreLongsAndBeyondAreStrings() {
+        Assert.assertEquals(ValueTypes.classify(String.valueOf(Long.MAX_VALUE)), ValueTypes.Kind.LONG);
+        Assert.assertEquals(ValueTypes.classify(String.valueOf(Long.MIN_VALUE)), ValueTypes.Kind.LONG);
+        Assert.assertEquals(ValueTypes.classify("9223372036854775808"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("-9223372036854775809"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("99999999999999999999"), ValueTypes.Kind.STRING);
+    }
+
+    @Test
+    public void integersAreCoercedExactly() {
+        Assert.assertEquals(ValueTypes.coerce(String.valueOf(Long.MIN_VALUE)), Long.MIN_VALUE);
+        Assert.assertEquals(ValueTypes.coerce(String.valueOf(Long.MAX_VALUE)), Long.MAX_VALUE);
+        Assert.assertEquals(ValueTypes.coerce(String.valueOf(Integer.MIN_VALUE)), Integer.MIN_VALUE);
+        Assert.assertEquals(ValueTypes.coerce(" 42 "), 42);
+        Assert.assertEquals(ValueTypes.coerce("+7"), 7);
+        Assert.assertEquals(ValueTypes.coerce("-0"), 0);
+    }
+
+    @Test
+    public void decimalsFollowTheFormerPattern() {
+        Assert.assertEquals(ValueTypes.classify("1.5"), ValueTypes.Kind.DECIMAL);
+        Assert.assertEquals(ValueTypes.classify(".5"), ValueTypes.Kind.DECIMAL);
+        Assert.assertEquals(ValueTypes.classify("-0.25e-3"), ValueTypes.Kind.DECIMAL);
+        Assert.assertEquals(ValueTypes.classify("1.0E10"), ValueTypes.Kind.DECIMAL);
+        Assert.assertEquals(ValueTypes.classify("1."), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("1e5"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("1.5e"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.coerce("-0.25e-3"), -0.25e-3);
+    }
+
+    @Test
+    public void signsAndStrayCharactersAreStrings() {
+        Assert.assertEquals(ValueTypes.classify("-"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("+"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("12a"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("1 2"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("   "), ValueTypes.Kind.STRING);
+    }
+
+    @Test
+    public void keywordsIgnoreCaseAndWhitespace() {
+        Assert.assertEquals(ValueTypes.classify(" TRUE "), ValueTypes.Kind.BOOLEAN);
+        Assert.assertEquals(ValueTypes.classify("False"), ValueTypes.Kind.BOOLEAN);
+        Assert.assertEquals(ValueTypes.classify("null"), ValueTypes.Kind.NULL);
+        Assert.assertEquals(ValueTypes.classify(null), ValueTypes.Kind.NULL);
+        Assert.assertEquals(ValueTypes.coerce(" true "), Boolean.TRUE);
+        Assert.assertNull(ValueTypes.coerce("NULL"));
+    }
+
+    @Test
+    public void jsonNeedsBalancedBracketsOutsideStrings() {
+        Assert.assertEquals(ValueTypes.classify("{\"a\":[1,2]}"), ValueTypes.Kind.JSON);
+        Assert.assertEquals(ValueTypes.classify("{\"a\":\"}\"}"), ValueTypes.Kind.JSON);
+        Assert.assertEquals(ValueTypes.classify("[1,[2]"), ValueTypes.Kind.STRING);
+        Assert.assertEquals(ValueTypes.classify("{\"a\":\"}"), ValueTypes.Kind.STRING);
+        Assert.assertTrue(ValueTypes.coerce("[1, 2]") instanceof JsonNode);
+    }
+
+    @Test
+    public void stringsAreReturnedUntrimmed() {
+        Assert.assertEquals(ValueTypes.coerce(" abc "), " abc ");
+        Assert.assertEquals(ValueTypes.coerce(""), "");
+    }
+
+    @Test
+    public void numericHelpers() {
+        Assert.assertTrue(ValueTypes.isInteger(String.valueOf(Long.MIN_VALUE)));
+        Assert.assertFalse(ValueTypes.isInteger("1.0"));
+        Assert.assertTrue(ValueTypes.isNumeric("1.0"));
+        Assert.assertFalse(ValueTypes.isNumeric("9223372036854775808"));
+    }
+}
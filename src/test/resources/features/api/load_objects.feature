@@ -0,0 +1,8 @@
+@loadObjectsAPI
+Feature: Get Objects API under load
+
+  @load
+  Scenario: GET /objects under load
+    When I call api spec "get_objects.yaml" without overrides
+    Then response status should be 200
+    And response should contain a list of objects